@@ -0,0 +1,313 @@
+package datastructures.heaps;
+
+import java.util.NoSuchElementException;
+import datastructures.lists.DynamicArrayList;
+
+/**
+ * D-ary minimum heap implementation with configurable arity.
+ * <p>Every node has {@code arity} children stored next to each other,
+ * at indices {@code arity*i + 1} to {@code arity*i + arity}. A heap of
+ * n elements is only log_d(n) levels deep, so sift-down touches far
+ * fewer cache lines than a binary heap on large heaps; finding the
+ * smallest child scans a contiguous run of memory instead.</p>
+ * <p>Has the same operations as {@code MinHeap<T>}, including
+ * {@code replaceTop} and {@code pushPop}. Elements are compared through
+ * {@code doubleValue()} like the other {@code Number} heaps.</p>
+ * <p>The array doubles once it gets full. If the corresponding
+ * constructor arguments are left empty, {@code DEFAULT_ARITY} (which is
+ * 4) will be assigned for arity and {@code DEFAULT_INIT_CAPACITY}
+ * (which is 10) for initial capacity instead.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of elements to be stored in the heap,
+ * must be subclass of {@code java.lang.Number}.
+ */
+public class DaryMinHeap<T extends Number> implements Heap<T> {
+	private static final int DEFAULT_ARITY = 4;
+	private static final int DEFAULT_INIT_CAPACITY = 10;
+
+	private final int arity;
+	private Object[] data;
+	private double[] keys;
+	private int size;
+
+	/**
+	 * Initialize heap with default arity ({@code DEFAULT_ARITY}) which is 4.
+	 */
+	public DaryMinHeap() {
+		this(DEFAULT_ARITY);
+	}
+
+	/**
+	 * Initialize heap with given arity.
+	 * <p>Throws {@code IllegalArgumentException} if arity is less than 2.</p>
+	 * @param arity number of children of each node
+	 */
+	public DaryMinHeap(int arity) {
+		this(arity, DEFAULT_INIT_CAPACITY);
+	}
+
+	/**
+	 * Initialize heap with given arity and initial capacity.
+	 * <p>Throws {@code IllegalArgumentException} if arity is less than 2.</p>
+	 * @param arity number of children of each node
+	 * @param initialCapacity initial capacity of the heap
+	 */
+	public DaryMinHeap(int arity, int initialCapacity) {
+		if(arity < 2)
+			throw new IllegalArgumentException("Arity must be at least 2");
+
+		int capacity = Math.max(initialCapacity, 1);
+
+		this.arity = arity;
+		this.data = new Object[capacity];
+		this.keys = new double[capacity];
+		this.size = 0;
+	}
+
+	/**
+	 * Initialize heap with given arity from a given array.
+	 * <p>Elements are copied, the array is left untouched. Heap is
+	 * built bottom-up in O(n).</p>
+	 * <p>Throws {@code IllegalArgumentException} if arity is less than 2.</p>
+	 * @param arity number of children of each node
+	 * @param arr array to build heap from
+	 */
+	public DaryMinHeap(int arity, DynamicArrayList<T> arr) {
+		this(arity, arr.size());
+
+		for(T element : arr) {
+			data[size] = element;
+			keys[size] = element.doubleValue();
+			++size;
+		}
+
+		for(int i = (size - 2) / arity; i >= 0; --i)
+			siftDown(i, data[i], keys[i]);
+	}
+
+	/**
+	 * Returns arity of the heap. (number of children of each node)
+	 * @return arity of the heap
+	 */
+	public int arity() { return arity; }
+
+	/**
+	 * Returns size of the heap. (number of elements in the heap)
+	 * @return size of the heap/number of elements
+	 */
+	public int size() { return size; }
+
+	/**
+	 * Returns a boolean value indicating emptiness of the heap.
+	 * @return true if heap is empty, false otherwise
+	 */
+	public boolean isEmpty() { return size == 0; }
+
+	/**
+	 *Returns a string representation of the heap, in which
+	 *elements are spaced with empty whitespace character.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder heapString = new StringBuilder();
+
+		for(int i=0; i < size; ++i) {
+			heapString.append(data[i]);
+			heapString.append(' ');
+		}
+
+		return heapString.toString();
+	}
+
+	/**
+	 * Insert an element to the heap.
+	 * <p>Time complexity of this operation is O(log_d(n)).</p>
+	 * @param data data to be inserted
+	 */
+	public void insert(T data) {
+		if(size == this.data.length)
+			extend();
+
+		siftUp(size++, data, data.doubleValue());
+	}
+
+	/**
+	 * Remove an element from the heap.
+	 * <p>Time complexity of this operation is O(n) for finding the
+	 * element, plus O(dlog_d(n)) for restoring the heap.</p>
+	 * <p>Throws {@code NoSuchElementException} if the value
+	 * is not found on the heap.</p>
+	 * @param data data to be removed
+	 */
+	public void delete(T data) {
+		int i;
+
+		for(i=0; i < size; ++i) {
+			if(this.data[i] == data)
+				break;
+		}
+
+		if(i == size)
+			throw new NoSuchElementException("There is no such element in the heap");
+
+		//Move the last element into the hole and only fix its path
+		--size;
+		Object last = this.data[size];
+		double lastKey = keys[size];
+		this.data[size] = null;
+
+		if(i < size) {
+			siftUp(i, last, lastKey);
+
+			if(this.data[i] == last)
+				siftDown(i, last, lastKey);
+		}
+	}
+
+	/**
+	 * Return the minimum element and remove it.
+	 * <p>Time complexity of this operation is O(dlog_d(n)).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return the minimum element of the heap
+	 */
+	public T extractMin() {
+		T top = peek();
+
+		--size;
+		Object last = data[size];
+		double lastKey = keys[size];
+		data[size] = null;
+
+		if(size > 0)
+			siftDown(0, last, lastKey);
+
+		return top;
+	}
+
+	/**
+	 * Return the minimum element and remove it, same as
+	 * {@code extractMin}.
+	 * <p>Time complexity of this operation is O(dlog_d(n)).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return the minimum element of the heap
+	 */
+	@Override
+	public T extract() {
+		return extractMin();
+	}
+
+	/**
+	 * Return the minimum element and replace it with the given one.
+	 * <p>Time complexity of this operation is O(dlog_d(n)).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @param data data to be inserted
+	 * @return the minimum element of the heap before the insertion
+	 */
+	public T replaceTop(T data) {
+		T top = peek();
+		siftDown(0, data, data.doubleValue());
+		return top;
+	}
+
+	/**
+	 * Insert the given element, then return the minimum element
+	 * and remove it.
+	 * <p>Time complexity of this operation is O(dlog_d(n)),
+	 * O(1) in best case.</p>
+	 * @param data data to be inserted
+	 * @return the minimum element of the heap after the insertion
+	 */
+	public T pushPop(T data) {
+		if(size == 0 || data.doubleValue() <= keys[0])
+			return data;
+
+		return replaceTop(data);
+	}
+
+	/**
+	 * Return the minimum element.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return the minimum element of the heap
+	 */
+	public T peek() {
+		if(size == 0)
+			throw new NoSuchElementException("Heap is empty");
+
+		@SuppressWarnings("unchecked")
+		T top = (T) data[0];
+		return top;
+	}
+
+	/**
+	 * Delete all elements and clear the heap.
+	 */
+	public void clear() {
+		for(int i=0; i < size; ++i)
+			data[i] = null;
+
+		size = 0;
+	}
+
+	//Keys are cached as doubles next to the elements, so that scanning
+	//the children doesn't dereference every child element
+	private void siftUp(int index, Object element, double key) {
+		while(index > 0) {
+			int parentIndex = (index - 1) / arity;
+
+			if(key >= keys[parentIndex])
+				break;
+
+			data[index] = data[parentIndex];
+			keys[index] = keys[parentIndex];
+			index = parentIndex;
+		}
+
+		data[index] = element;
+		keys[index] = key;
+	}
+
+	private void siftDown(int index, Object element, double key) {
+		while(true) {
+			int firstChildIndex = arity*index + 1;
+
+			if(firstChildIndex >= size)
+				break;
+
+			int lastChildIndex = Math.min(firstChildIndex + arity, size);
+			int minIndex = firstChildIndex;
+			double minKey = keys[firstChildIndex];
+
+			for(int i = firstChildIndex + 1; i < lastChildIndex; ++i) {
+				if(keys[i] < minKey) {
+					minIndex = i;
+					minKey = keys[i];
+				}
+			}
+
+			if(key <= minKey)
+				break;
+
+			data[index] = data[minIndex];
+			keys[index] = minKey;
+			index = minIndex;
+		}
+
+		data[index] = element;
+		keys[index] = key;
+	}
+
+	private void extend() {
+		Object[] newData = new Object[data.length * 2];
+		double[] newKeys = new double[keys.length * 2];
+		System.arraycopy(data, 0, newData, 0, size);
+		System.arraycopy(keys, 0, newKeys, 0, size);
+		data = newData;
+		keys = newKeys;
+	}
+}
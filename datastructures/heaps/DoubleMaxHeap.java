@@ -0,0 +1,200 @@
+package datastructures.heaps;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Binary maximum heap implementation storing {@code double} values
+ * directly in an array.
+ * <p>Unlike {@code MaxHeap<Double>}, values are never boxed and are
+ * compared with plain {@code double} comparisons, and the array is
+ * accessed directly instead of through bounds-checked {@code get/set}
+ * calls. {@code push/pop/peek} don't allocate anything unless the
+ * array has to grow. {@code NaN} values are not allowed since they
+ * can't be ordered.</p>
+ * <p>{@code pushAll} appends a batch and, when that's cheaper than
+ * sifting every value up, rebuilds the heap bottom-up (Floyd's
+ * method) in O(n).</p>
+ * <p>The array doubles once it gets full. If the corresponding
+ * constructor argument regarding to initial capacity is left empty,
+ * {@code DEFAULT_INIT_CAPACITY} (which is 10) will be assigned for
+ * initial capacity instead.</p>
+ * @author Baris Unlusarac
+ */
+public class DoubleMaxHeap {
+	private static final int DEFAULT_INIT_CAPACITY = 10;
+	
+	private double[] data;
+	private int size;
+	
+	/**
+	 * Initialize heap with default initial capacity
+	 * ({@code DEFAULT_INIT_CAPACITY}) which is 10.
+	 */
+	public DoubleMaxHeap() {
+		this(DEFAULT_INIT_CAPACITY);
+	}
+	
+	/**
+	 * Initialize heap with given initial capacity.
+	 * @param initialCapacity initial capacity of the heap
+	 */
+	public DoubleMaxHeap(int initialCapacity) {
+		this.data = new double[Math.max(initialCapacity, 1)];
+		this.size = 0;
+	}
+	
+	/**
+	 * Returns size of the heap. (number of values in the heap)
+	 * @return size of the heap/number of values
+	 */
+	public int size() { return size; }
+	
+	/**
+	 * Returns a boolean value indicating emptiness of the heap.
+	 * @return true if heap is empty, false otherwise
+	 */
+	public boolean isEmpty() { return size == 0; }
+	
+	/**
+	 *Returns a string representation of the heap, in which
+	 *values are spaced with empty whitespace character.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder heapString = new StringBuilder();
+		
+		for(int i=0; i < size; ++i) {
+			heapString.append(data[i]);
+			heapString.append(' ');
+		}
+		
+		return heapString.toString();
+	}
+	
+	/**
+	 * Insert a value to the heap.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * <p>Throws {@code IllegalArgumentException} if value is {@code NaN}.</p>
+	 * @param value value to be inserted
+	 */
+	public void push(double value) {
+		if(Double.isNaN(value))
+			throw new IllegalArgumentException("Value can't be NaN");
+		
+		if(size == data.length)
+			ensureCapacity(size + 1);
+		
+		siftUp(size++, value);
+	}
+	
+	/**
+	 * Insert all values of the given array to the heap.
+	 * <p>Time complexity of this operation is O(min(klog(n+k), n+k))
+	 * for k values.</p>
+	 * <p>Throws {@code IllegalArgumentException} if any of the values
+	 * is {@code NaN}, in which case nothing is inserted.</p>
+	 * @param values values to be inserted
+	 */
+	public void pushAll(double[] values) {
+		for(double value : values) {
+			if(Double.isNaN(value))
+				throw new IllegalArgumentException("Value can't be NaN");
+		}
+		
+		int count = values.length;
+		ensureCapacity(size + count);
+		
+		if(LongMinHeap.isBottomUpCheaper(size, count)) {
+			System.arraycopy(values, 0, data, size, count);
+			size += count;
+			
+			for(int i = (size >>> 1) - 1; i >= 0; --i)
+				siftDown(i, data[i]);
+		}
+		else {
+			for(double value : values)
+				siftUp(size++, value);
+		}
+	}
+	
+	/**
+	 * Return the maximum value and remove it.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return the maximum value of the heap
+	 */
+	public double pop() {
+		double top = peek();
+		double last = data[--size];
+		
+		if(size > 0)
+			siftDown(0, last);
+		
+		return top;
+	}
+	
+	/**
+	 * Return the maximum value.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return the maximum value of the heap
+	 */
+	public double peek() {
+		if(size == 0)
+			throw new NoSuchElementException("Heap is empty");
+		
+		return data[0];
+	}
+	
+	/**
+	 * Delete all values and clear the heap.
+	 */
+	public void clear() { size = 0; }
+	
+	private void siftUp(int index, double value) {
+		while(index > 0) {
+			int parentIndex = (index - 1) >>> 1;
+			double parent = data[parentIndex];
+			
+			if(value <= parent)
+				break;
+			
+			data[index] = parent;
+			index = parentIndex;
+		}
+		
+		data[index] = value;
+	}
+	
+	private void siftDown(int index, double value) {
+		int half = size >>> 1;
+		
+		while(index < half) {
+			int childIndex = 2*index + 1;
+			double child = data[childIndex];
+			int rightChildIndex = childIndex + 1;
+			
+			if(rightChildIndex < size && data[rightChildIndex] > child)
+				child = data[childIndex = rightChildIndex];
+			
+			if(value >= child)
+				break;
+			
+			data[index] = child;
+			index = childIndex;
+		}
+		
+		data[index] = value;
+	}
+	
+	private void ensureCapacity(int required) {
+		if(required <= data.length)
+			return;
+		
+		double[] newData = new double[Math.max(required, data.length * 2)];
+		System.arraycopy(data, 0, newData, 0, size);
+		data = newData;
+	}
+}
@@ -0,0 +1,45 @@
+package datastructures.heaps;
+
+/**
+ * Common operations of heaps, regardless of their layout.
+ * <p>The top element is the minimum for minimum heaps and the
+ * maximum for maximum heaps.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of elements to be stored in the heap
+ */
+public interface Heap<T> {
+	/**
+	 * Insert an element to the heap.
+	 * @param data data to be inserted
+	 */
+	void insert(T data);
+
+	/**
+	 * Return the top element.
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return the top element of the heap
+	 */
+	T peek();
+
+	/**
+	 * Return the top element and remove it.
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return the top element of the heap
+	 */
+	T extract();
+
+	/**
+	 * Returns size of the heap. (number of elements in the heap)
+	 * @return size of the heap/number of elements
+	 */
+	int size();
+
+	/**
+	 * Returns a boolean value indicating emptiness of the heap.
+	 * @return true if heap is empty, false otherwise
+	 */
+	default boolean isEmpty() { return size() == 0; }
+}
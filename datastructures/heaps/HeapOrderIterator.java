@@ -0,0 +1,142 @@
+package datastructures.heaps;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import datastructures.lists.DynamicArrayList;
+
+/**
+ * Iterator over the elements of a binary heap in sorted order, which
+ * leaves the heap untouched.
+ * <p>Instead of extracting, the iterator keeps a frontier: a small heap
+ * of the indices of elements that haven't been returned yet but whose
+ * parents have. The next element is always the top of the frontier, and
+ * returning it adds its two children. So the first k elements cost
+ * O(klogk) regardless of the size of the heap, and no copy is made.</p>
+ * <p>The heap must not be modified while it's being iterated; this is
+ * detected on a best-effort basis by comparing its size, and reported
+ * with {@code ConcurrentModificationException}.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of elements in the heap,
+ * must be subclass of {@code java.lang.Number}.
+ */
+public class HeapOrderIterator<T extends Number> implements Iterator<T> {
+	private static final int INIT_FRONTIER_CAPACITY = 16;
+
+	private final DynamicArrayList<T> data;
+	private final boolean isMin;
+	private final int expectedSize;
+
+	//Heap of indices of data, ordered by their cached keys
+	private int[] frontier;
+	private double[] keys;
+	private int frontierSize;
+
+	/**
+	 * Initialize iterator over given heap array.
+	 * @param data array of a binary heap
+	 * @param isMin true if the array is a minimum heap, false if
+	 * it's a maximum heap
+	 */
+	public HeapOrderIterator(DynamicArrayList<T> data, boolean isMin) {
+		this.data = data;
+		this.isMin = isMin;
+		this.expectedSize = data.size();
+		this.frontier = new int[INIT_FRONTIER_CAPACITY];
+		this.keys = new double[INIT_FRONTIER_CAPACITY];
+		this.frontierSize = 0;
+
+		if(expectedSize > 0)
+			push(0);
+	}
+
+	@Override
+	public boolean hasNext() {
+		return frontierSize > 0;
+	}
+
+	@Override
+	public T next() {
+		if(frontierSize == 0)
+			throw new NoSuchElementException("No more elements in the heap");
+
+		if(data.size() != expectedSize)
+			throw new ConcurrentModificationException("Heap is modified during iteration");
+
+		int index = pop();
+		int childIndex = 2*index + 1;
+
+		if(childIndex < expectedSize)
+			push(childIndex);
+
+		if(childIndex + 1 < expectedSize)
+			push(childIndex + 1);
+
+		return data.get(index);
+	}
+
+	private void push(int index) {
+		if(frontierSize == frontier.length)
+			extend();
+
+		double key = data.get(index).doubleValue();
+		int i = frontierSize++;
+
+		while(i > 0) {
+			int parent = (i - 1) >>> 1;
+
+			if(!isBefore(key, keys[parent]))
+				break;
+
+			frontier[i] = frontier[parent];
+			keys[i] = keys[parent];
+			i = parent;
+		}
+
+		frontier[i] = index;
+		keys[i] = key;
+	}
+
+	private int pop() {
+		int top = frontier[0];
+
+		--frontierSize;
+		int last = frontier[frontierSize];
+		double lastKey = keys[frontierSize];
+		int half = frontierSize >>> 1;
+		int i = 0;
+
+		while(i < half) {
+			int child = 2*i + 1;
+
+			if(child + 1 < frontierSize && isBefore(keys[child + 1], keys[child]))
+				++child;
+
+			if(!isBefore(keys[child], lastKey))
+				break;
+
+			frontier[i] = frontier[child];
+			keys[i] = keys[child];
+			i = child;
+		}
+
+		frontier[i] = last;
+		keys[i] = lastKey;
+
+		return top;
+	}
+
+	private boolean isBefore(double first, double second) {
+		return isMin ? first < second : first > second;
+	}
+
+	private void extend() {
+		int[] newFrontier = new int[frontier.length * 2];
+		double[] newKeys = new double[keys.length * 2];
+		System.arraycopy(frontier, 0, newFrontier, 0, frontierSize);
+		System.arraycopy(keys, 0, newKeys, 0, frontierSize);
+		frontier = newFrontier;
+		keys = newKeys;
+	}
+}
@@ -0,0 +1,383 @@
+package datastructures.heaps;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed binary minimum heap implementation, ordered by a
+ * {@code Comparator<T>}.
+ * <p>Every inserted element gets an int handle. Heap keeps a position
+ * map from handles to heap positions, so an element can be found in O(1)
+ * by its handle and its key can be changed or the element removed in
+ * O(logn), without {@code delete}'s linear search of {@code MinHeap<T>}.
+ * Pass a reversed comparator to get a maximum heap.</p>
+ * <p>Handles of removed elements are reused by later insertions.
+ * Arrays double once they get full. If the corresponding constructor
+ * argument regarding to initial capacity is left empty,
+ * {@code DEFAULT_INIT_CAPACITY} (which is 10) will be assigned for
+ * initial capacity instead.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of elements to be stored in the heap
+ */
+public class IndexedMinHeap<T> {
+	private static final int DEFAULT_INIT_CAPACITY = 10;
+	private static final int NOT_IN_HEAP = -1;
+
+	private final Comparator<? super T> comparator;
+
+	//heap position -> handle
+	private int[] heap;
+	//handle -> heap position
+	private int[] positions;
+	//handle -> key
+	private Object[] keys;
+	//handle -> next handle in the free list
+	private int[] nextFree;
+	private int freeHandle;
+	private int handleCount;
+	private int size;
+
+	/**
+	 * Initialize heap ordered by given comparator with default initial
+	 * capacity ({@code DEFAULT_INIT_CAPACITY}) which is 10.
+	 * @param comparator comparator to order elements with
+	 */
+	public IndexedMinHeap(Comparator<? super T> comparator) {
+		this(comparator, DEFAULT_INIT_CAPACITY);
+	}
+
+	/**
+	 * Initialize heap ordered by given comparator with given
+	 * initial capacity.
+	 * @param comparator comparator to order elements with
+	 * @param initialCapacity initial capacity of the heap
+	 */
+	public IndexedMinHeap(Comparator<? super T> comparator, int initialCapacity) {
+		int capacity = Math.max(initialCapacity, 1);
+
+		this.comparator = comparator;
+		this.heap = new int[capacity];
+		this.positions = new int[capacity];
+		this.keys = new Object[capacity];
+		this.nextFree = new int[capacity];
+		this.freeHandle = NOT_IN_HEAP;
+		this.handleCount = 0;
+		this.size = 0;
+	}
+
+	/**
+	 * Returns size of the heap. (number of elements in the heap)
+	 * @return size of the heap/number of elements
+	 */
+	public int size() { return size; }
+
+	/**
+	 * Returns a boolean value indicating emptiness of the heap.
+	 * @return true if heap is empty, false otherwise
+	 */
+	public boolean isEmpty() { return size == 0; }
+
+	/**
+	 * Insert an element to the heap.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * @param data data to be inserted
+	 * @return handle of the inserted element
+	 */
+	public int insert(T data) {
+		int handle = allocateHandle();
+
+		keys[handle] = data;
+		heap[size] = handle;
+		positions[handle] = size;
+		++size;
+
+		siftUp(size - 1);
+		return handle;
+	}
+
+	/**
+	 * Returns a boolean value indicating whether an element with
+	 * given handle is in the heap.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * @param handle handle of the element
+	 * @return true if the element is in the heap, false otherwise
+	 */
+	public boolean contains(int handle) {
+		return handle >= 0 && handle < handleCount && positions[handle] != NOT_IN_HEAP;
+	}
+
+	/**
+	 * Return the key of the element with given handle.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if there's no
+	 * element with given handle.</p>
+	 * @param handle handle of the element
+	 * @return key of the element
+	 */
+	public T get(int handle) {
+		checkHandle(handle);
+
+		@SuppressWarnings("unchecked")
+		T data = (T) keys[handle];
+		return data;
+	}
+
+	/**
+	 * Change the key of the element with given handle and restore
+	 * the heap property by moving it up or down.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * <p>Throws {@code NoSuchElementException} if there's no
+	 * element with given handle.</p>
+	 * @param handle handle of the element
+	 * @param data new key of the element
+	 */
+	public void changeKey(int handle, T data) {
+		checkHandle(handle);
+
+		@SuppressWarnings("unchecked")
+		T oldData = (T) keys[handle];
+		keys[handle] = data;
+
+		if(comparator.compare(data, oldData) < 0)
+			siftUp(positions[handle]);
+		else
+			siftDown(positions[handle]);
+	}
+
+	/**
+	 * Decrease the key of the element with given handle.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * <p>Throws {@code NoSuchElementException} if there's no element
+	 * with given handle, and {@code IllegalArgumentException} if the
+	 * new key is greater than the current one.</p>
+	 * @param handle handle of the element
+	 * @param data new key of the element
+	 */
+	public void decreaseKey(int handle, T data) {
+		if(comparator.compare(data, get(handle)) > 0)
+			throw new IllegalArgumentException("New key is greater than the current key");
+
+		keys[handle] = data;
+		siftUp(positions[handle]);
+	}
+
+	/**
+	 * Remove the element with given handle from the heap.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * <p>Throws {@code NoSuchElementException} if there's no
+	 * element with given handle.</p>
+	 * @param handle handle of the element
+	 * @return key of the removed element
+	 */
+	public T remove(int handle) {
+		T data = get(handle);
+		int position = positions[handle];
+
+		//Move the last element into the hole and fix it up or down
+		--size;
+
+		if(position != size) {
+			swap(position, size);
+			int movedHandle = heap[position];
+			siftUp(position);
+			siftDown(positions[movedHandle]);
+		}
+
+		freeHandle(handle);
+		return data;
+	}
+
+	/**
+	 * Return the minimum element.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return the minimum element of the heap
+	 */
+	public T peek() {
+		return get(peekHandle());
+	}
+
+	/**
+	 * Return the handle of the minimum element.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return handle of the minimum element of the heap
+	 */
+	public int peekHandle() {
+		if(size == 0)
+			throw new NoSuchElementException("Heap is empty");
+
+		return heap[0];
+	}
+
+	/**
+	 * Return the minimum element and remove it.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return the minimum element of the heap
+	 */
+	public T extractMin() {
+		return remove(peekHandle());
+	}
+
+	/**
+	 * Remove the minimum element and return its handle.
+	 * <p>Handle is freed and can be reused by the next insertion.</p>
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return handle of the removed minimum element
+	 */
+	public int extractMinHandle() {
+		int handle = peekHandle();
+		remove(handle);
+		return handle;
+	}
+
+	/**
+	 * Delete all elements and clear the heap. Every handle is freed.
+	 */
+	public void clear() {
+		for(int i=0; i < handleCount; ++i)
+			keys[i] = null;
+
+		freeHandle = NOT_IN_HEAP;
+		handleCount = 0;
+		size = 0;
+	}
+
+	/**
+	 *Returns a string representation of the heap, in which
+	 *elements are spaced with empty whitespace character.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder heapString = new StringBuilder();
+
+		for(int i=0; i < size; ++i) {
+			heapString.append(keys[heap[i]]);
+			heapString.append(' ');
+		}
+
+		return heapString.toString();
+	}
+
+	private void siftUp(int position) {
+		int handle = heap[position];
+
+		@SuppressWarnings("unchecked")
+		T data = (T) keys[handle];
+
+		while(position > 0) {
+			int parentPosition = (position - 1) >>> 1;
+			int parentHandle = heap[parentPosition];
+
+			@SuppressWarnings("unchecked")
+			T parent = (T) keys[parentHandle];
+
+			if(comparator.compare(data, parent) >= 0)
+				break;
+
+			heap[position] = parentHandle;
+			positions[parentHandle] = position;
+			position = parentPosition;
+		}
+
+		heap[position] = handle;
+		positions[handle] = position;
+	}
+
+	private void siftDown(int position) {
+		int handle = heap[position];
+
+		@SuppressWarnings("unchecked")
+		T data = (T) keys[handle];
+		int half = size >>> 1;
+
+		while(position < half) {
+			int childPosition = 2*position + 1;
+			int childHandle = heap[childPosition];
+
+			@SuppressWarnings("unchecked")
+			T child = (T) keys[childHandle];
+
+			if(childPosition + 1 < size) {
+				int rightHandle = heap[childPosition + 1];
+
+				@SuppressWarnings("unchecked")
+				T rightChild = (T) keys[rightHandle];
+
+				if(comparator.compare(rightChild, child) < 0) {
+					++childPosition;
+					childHandle = rightHandle;
+					child = rightChild;
+				}
+			}
+
+			if(comparator.compare(data, child) <= 0)
+				break;
+
+			heap[position] = childHandle;
+			positions[childHandle] = position;
+			position = childPosition;
+		}
+
+		heap[position] = handle;
+		positions[handle] = position;
+	}
+
+	private void swap(int i, int j) {
+		int temp = heap[i];
+		heap[i] = heap[j];
+		heap[j] = temp;
+		positions[heap[i]] = i;
+		positions[heap[j]] = j;
+	}
+
+	private int allocateHandle() {
+		if(freeHandle != NOT_IN_HEAP) {
+			int handle = freeHandle;
+			freeHandle = nextFree[handle];
+			return handle;
+		}
+
+		if(handleCount == positions.length)
+			extend();
+
+		return handleCount++;
+	}
+
+	private void freeHandle(int handle) {
+		keys[handle] = null;
+		positions[handle] = NOT_IN_HEAP;
+		nextFree[handle] = freeHandle;
+		freeHandle = handle;
+	}
+
+	private void checkHandle(int handle) {
+		if(!contains(handle))
+			throw new NoSuchElementException("There is no element with handle " + handle);
+	}
+
+	private void extend() {
+		int capacity = positions.length * 2;
+		int[] newHeap = new int[capacity];
+		int[] newPositions = new int[capacity];
+		Object[] newKeys = new Object[capacity];
+		int[] newNextFree = new int[capacity];
+
+		System.arraycopy(heap, 0, newHeap, 0, size);
+		System.arraycopy(positions, 0, newPositions, 0, handleCount);
+		System.arraycopy(keys, 0, newKeys, 0, handleCount);
+		System.arraycopy(nextFree, 0, newNextFree, 0, handleCount);
+
+		heap = newHeap;
+		positions = newPositions;
+		keys = newKeys;
+		nextFree = newNextFree;
+	}
+}
@@ -0,0 +1,179 @@
+package datastructures.heaps;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import datastructures.stacks.DynamicArrayStack;
+
+/**
+ * Leftist heap implementation, a pointer-based minimum heap ordered by
+ * a {@code Comparator<T>}.
+ * <p>Every node keeps its rank, the length of the shortest path from it
+ * to a missing child, and the rank of a left child is never smaller than
+ * the rank of its right sibling. So the rightmost path of a heap of n
+ * elements is at most log(n + 1) long, and two heaps are melded in
+ * O(logn) by merging their rightmost paths. Insertion and extraction
+ * are melds as well.</p>
+ * <p>Unlike {@code PairingHeap<T>}, every bound is worst case.
+ * Pass a reversed comparator to get a maximum heap.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of elements to be stored in the heap
+ */
+public class LeftistHeap<T> implements MergeableHeap<T, LeftistHeap<T>> {
+	private final Comparator<? super T> comparator;
+	private LeftistNode<T> root;
+	private int size;
+
+	/**
+	 * Initialize heap ordered by given comparator.
+	 * @param comparator comparator to order elements with
+	 */
+	public LeftistHeap(Comparator<? super T> comparator) {
+		this.comparator = comparator;
+		this.root = null;
+		this.size = 0;
+	}
+
+	@Override
+	public int size() { return size; }
+
+	/**
+	 * Insert an element to the heap.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * @param data data to be inserted
+	 */
+	@Override
+	public void insert(T data) {
+		root = merge(root, new LeftistNode<T>(data));
+		++size;
+	}
+
+	/**
+	 * Return the minimum element.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return the minimum element of the heap
+	 */
+	@Override
+	public T peek() {
+		if(root == null)
+			throw new NoSuchElementException("Heap is empty");
+
+		return root.data;
+	}
+
+	/**
+	 * Return the minimum element and remove it.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return the minimum element of the heap
+	 */
+	@Override
+	public T extract() {
+		T data = peek();
+
+		root = merge(root.left, root.right);
+		--size;
+
+		return data;
+	}
+
+	/**
+	 * Move every element of the given heap into this heap, leaving
+	 * the given heap empty.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * <p>Throws {@code IllegalArgumentException} if the given heap is
+	 * this heap.</p>
+	 * @param other heap to be melded into this heap
+	 */
+	@Override
+	public void meld(LeftistHeap<T> other) {
+		if(other == this)
+			throw new IllegalArgumentException("Heap can't be melded into itself");
+
+		root = merge(root, other.root);
+		size += other.size;
+		other.root = null;
+		other.size = 0;
+	}
+
+	/**
+	 * Delete all elements and clear the heap.
+	 */
+	public void clear() {
+		root = null;
+		size = 0;
+	}
+
+	/**
+	 *Returns a string representation of the heap in preorder, in
+	 *which elements are spaced with empty whitespace character.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder heapString = new StringBuilder();
+		DynamicArrayStack<LeftistNode<T>> stack = new DynamicArrayStack<LeftistNode<T>>();
+
+		//Left paths can be as long as the heap, so no recursion
+		if(root != null)
+			stack.push(root);
+
+		while(!stack.isEmpty()) {
+			LeftistNode<T> node = stack.pop();
+			heapString.append(node.data);
+			heapString.append(' ');
+
+			if(node.right != null)
+				stack.push(node.right);
+
+			if(node.left != null)
+				stack.push(node.left);
+		}
+
+		return heapString.toString();
+	}
+
+	//Recursion only follows rightmost paths, so it's O(logn) deep
+	private LeftistNode<T> merge(LeftistNode<T> first, LeftistNode<T> second) {
+		if(first == null)
+			return second;
+
+		if(second == null)
+			return first;
+
+		if(comparator.compare(second.data, first.data) < 0) {
+			LeftistNode<T> temp = first;
+			first = second;
+			second = temp;
+		}
+
+		first.right = merge(first.right, second);
+
+		if(rank(first.left) < rank(first.right)) {
+			LeftistNode<T> temp = first.left;
+			first.left = first.right;
+			first.right = temp;
+		}
+
+		first.rank = rank(first.right) + 1;
+		return first;
+	}
+
+	private static int rank(LeftistNode<?> node) {
+		return node == null ? 0 : node.rank;
+	}
+
+	private static final class LeftistNode<T> {
+		private final T data;
+		private LeftistNode<T> left;
+		private LeftistNode<T> right;
+		private int rank;
+
+		LeftistNode(T data) {
+			this.data = data;
+			this.rank = 1;
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package datastructures.heaps;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Collector of the k greatest {@code long} values of a stream.
+ * <p>Works like {@code TopKCollector<T>}, but values are kept unboxed in
+ * a fixed {@code long} array and compared with plain {@code long}
+ * comparisons, so offering a value never allocates. Once the collector
+ * is full, a value that isn't greater than the current k-th greatest
+ * value is rejected with a single comparison.</p>
+ * <p>A collector is not thread-safe. To collect in parallel, give every
+ * worker its own collector and {@code merge} them afterwards.</p>
+ * @author Baris Unlusarac
+ */
+public class LongTopKCollector {
+	private final long[] data;
+	private int size;
+
+	/**
+	 * Initialize collector of the k greatest values.
+	 * <p>Throws {@code IllegalArgumentException} if k is not positive.</p>
+	 * @param k number of values to be collected
+	 */
+	public LongTopKCollector(int k) {
+		if(k <= 0)
+			throw new IllegalArgumentException("k must be positive");
+
+		this.data = new long[k];
+		this.size = 0;
+	}
+
+	/**
+	 * Returns number of collected values, which is at most k.
+	 * @return number of collected values
+	 */
+	public int size() { return size; }
+
+	/**
+	 * Returns number of values to be collected.
+	 * @return k
+	 */
+	public int capacity() { return data.length; }
+
+	/**
+	 * Returns a boolean value indicating whether k values are collected.
+	 * @return true if k values are collected, false otherwise
+	 */
+	public boolean isFull() { return size == data.length; }
+
+	/**
+	 * Offer a value to the collector.
+	 * <p>Time complexity of this operation is O(1) if the value is
+	 * rejected, O(logk) otherwise.</p>
+	 * @param value value to be offered
+	 * @return true if the value is among the k greatest so far,
+	 * false if it's rejected
+	 */
+	public boolean offer(long value) {
+		if(size < data.length) {
+			siftUp(size++, value);
+			return true;
+		}
+
+		if(value <= data[0])
+			return false;
+
+		siftDown(data, size, 0, value);
+		return true;
+	}
+
+	/**
+	 * Offer every value of the given array to the collector.
+	 * <p>Time complexity of this operation is O(m) for m values,
+	 * plus O(logk) for every accepted value.</p>
+	 * @param values values to be offered
+	 */
+	public void offerAll(long[] values) {
+		for(long value : values)
+			offer(value);
+	}
+
+	/**
+	 * Offer every value collected by the given collector, leaving
+	 * the given collector untouched.
+	 * <p>Time complexity of this operation is O(mlogk) for m values
+	 * collected by the given collector.</p>
+	 * <p>Throws {@code IllegalArgumentException} if the given collector
+	 * is this collector.</p>
+	 * @param other collector to be merged into this collector
+	 */
+	public void merge(LongTopKCollector other) {
+		if(other == this)
+			throw new IllegalArgumentException("Collector can't be merged into itself");
+
+		for(int i=0; i < other.size; ++i)
+			offer(other.data[i]);
+	}
+
+	/**
+	 * Return the smallest collected value, which is the k-th greatest
+	 * value once the collector is full.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if nothing is collected.</p>
+	 * @return the smallest collected value
+	 */
+	public long threshold() {
+		if(size == 0)
+			throw new NoSuchElementException("Nothing is collected");
+
+		return data[0];
+	}
+
+	/**
+	 * Returns the collected values, greatest first, without
+	 * modifying the collector.
+	 * <p>Time complexity of this operation is O(klogk).</p>
+	 * @return collected values in descending order
+	 */
+	public long[] toSortedArray() {
+		long[] sorted = new long[size];
+		System.arraycopy(data, 0, sorted, 0, size);
+
+		//Heapsort on the copy of the minimum heap, moving the
+		//minimum to the back leaves it in descending order
+		for(int end = size - 1; end > 0; --end) {
+			long last = sorted[end];
+			sorted[end] = sorted[0];
+			siftDown(sorted, end, 0, last);
+		}
+
+		return sorted;
+	}
+
+	/**
+	 * Delete every collected value.
+	 */
+	public void clear() { size = 0; }
+
+	/**
+	 *Returns a string representation of the collector in heap order,
+	 *in which values are spaced with empty whitespace character.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder collectorString = new StringBuilder();
+
+		for(int i=0; i < size; ++i) {
+			collectorString.append(data[i]);
+			collectorString.append(' ');
+		}
+
+		return collectorString.toString();
+	}
+
+	private void siftUp(int index, long value) {
+		while(index > 0) {
+			int parentIndex = (index - 1) >>> 1;
+			long parent = data[parentIndex];
+
+			if(value >= parent)
+				break;
+
+			data[index] = parent;
+			index = parentIndex;
+		}
+
+		data[index] = value;
+	}
+
+	private static void siftDown(long[] heap, int size, int index, long value) {
+		int half = size >>> 1;
+
+		while(index < half) {
+			int childIndex = 2*index + 1;
+			long child = heap[childIndex];
+			int rightChildIndex = childIndex + 1;
+
+			if(rightChildIndex < size && heap[rightChildIndex] < child)
+				child = heap[childIndex = rightChildIndex];
+
+			if(value <= child)
+				break;
+
+			heap[index] = child;
+			index = childIndex;
+		}
+
+		heap[index] = value;
+	}
+}
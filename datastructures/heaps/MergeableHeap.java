@@ -0,0 +1,21 @@
+package datastructures.heaps;
+
+/**
+ * Heap that can absorb another heap of the same kind without
+ * inserting its elements one by one.
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of elements to be stored in the heap
+ * @param <H> type of heaps that can be melded into this heap
+ */
+public interface MergeableHeap<T, H extends MergeableHeap<T, H>> extends Heap<T> {
+	/**
+	 * Move every element of the given heap into this heap, leaving
+	 * the given heap empty.
+	 * <p>Both heaps are expected to order their elements the same way.</p>
+	 * <p>Throws {@code IllegalArgumentException} if the given heap is
+	 * this heap.</p>
+	 * @param other heap to be melded into this heap
+	 */
+	void meld(H other);
+}
@@ -1,5 +1,6 @@
 package datastructures.heaps;
 
+import java.util.Iterator;
 import java.util.NoSuchElementException;
 import datastructures.lists.DynamicArrayList;
 
@@ -10,7 +11,7 @@ import datastructures.lists.DynamicArrayList;
  * @param <T> type of elements to be stored in the heap,
  * must be subclass of {@code java.lang.Number}.
  */
-public class MinHeap<T extends Number> {
+public class MinHeap<T extends Number> implements Heap<T> {
 	public DynamicArrayList<T> data;
 	
 	/**
@@ -44,18 +45,18 @@ public class MinHeap<T extends Number> {
 	
 	/**
 	 * Insert an element to the heap.
+	 * <p>Time complexity of this operation is O(logn).</p>
 	 * @param data data to be inserted
 	 */
 	public void insert(T data) {
 		this.data.add(data);
-	
-		if(this.size() != 0) {
-			heapify();	
-		}
+		siftUp(this.size() - 1);
 	}
 	
 	/**
 	 * Remove an element from the heap.
+	 * <p>Time complexity of this operation is O(n) for finding the
+	 * element, plus O(logn) for restoring the heap.</p>
 	 * <p>Throws {@code NoSuchElementException} if the value 
 	 * is not found on the heap.</p>
 	 * @param data data to be removed
@@ -72,26 +73,84 @@ public class MinHeap<T extends Number> {
 		if(i == lastElementIndex + 1)
 			throw new NoSuchElementException("There is no such element in the tree");
 		
+		//Move the last element into the hole and only fix its path
 		swap(i, lastElementIndex);
 		this.data.remove(lastElementIndex);
 		
-		heapify();
+		if(i < this.data.size()) {
+			siftUp(i);
+			heapify(i);
+		}
 	}
 	
 	/**
 	 * Return the minimum element and remove it.
+	 * <p>Time complexity of this operation is O(logn).</p>
 	 * <p>Throws {@code NoSuchElementException} if the heap
 	 * is empty.</p>
 	 * @return the minimum element of the heap
 	 */
 	public T extractMin() {
 		T data = peek();
-		delete(data);
+		int lastElementIndex = this.data.size() - 1;
+		
+		swap(0, lastElementIndex);
+		this.data.remove(lastElementIndex);
+		
+		if(lastElementIndex > 0)
+			heapify(0);
+		
 		return data;
 	}
 	
+	/**
+	 * Return the minimum element and remove it, same as
+	 * {@code extractMin}.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return the minimum element of the heap
+	 */
+	@Override
+	public T extract() {
+		return extractMin();
+	}
+	
+	/**
+	 * Return the minimum element and replace it with the given one,
+	 * which is cheaper than an extraction followed by an insertion.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @param data data to be inserted
+	 * @return the minimum element of the heap before the insertion
+	 */
+	public T replaceTop(T data) {
+		T top = peek();
+		this.data.set(0, data);
+		heapify(0);
+		return top;
+	}
+	
+	/**
+	 * Insert the given element, then return the minimum element
+	 * and remove it.
+	 * <p>If the given element would be the new minimum, it's returned
+	 * right away without touching the heap.</p>
+	 * <p>Time complexity of this operation is O(logn), O(1) in best case.</p>
+	 * @param data data to be inserted
+	 * @return the minimum element of the heap after the insertion
+	 */
+	public T pushPop(T data) {
+		if(this.data.size() == 0 || data.doubleValue() <= this.data.get(0).doubleValue())
+			return data;
+		
+		return replaceTop(data);
+	}
+	
 	/**
 	 * Return the minimum element.
+	 * <p>Time complexity of this operation is O(1).</p>
 	 * <p>Throws {@code NoSuchElementException} if the heap
 	 * is empty.</p>
 	 * @return the minimum element of the heap
@@ -103,6 +162,34 @@ public class MinHeap<T extends Number> {
 		return data.get(0); 
 	}
 
+	/**
+	 * Returns an iterator over the elements in ascending order, which
+	 * doesn't modify or copy the heap.
+	 * <p>Time complexity of iterating the first k elements is O(klogk).</p>
+	 * <p>Heap must not be modified during the iteration.</p>
+	 * @return iterator over the elements in ascending order
+	 */
+	public Iterator<T> sortedIterator() {
+		return new HeapOrderIterator<T>(this.data, true);
+	}
+	
+	/**
+	 * Returns the smallest k elements in ascending order, without
+	 * modifying the heap.
+	 * <p>Time complexity of this operation is O(klogk).</p>
+	 * @param k number of elements, all of them if greater than the size
+	 * @return the smallest k elements in ascending order
+	 */
+	public DynamicArrayList<T> topK(int k) {
+		DynamicArrayList<T> top = new DynamicArrayList<T>();
+		Iterator<T> iterator = sortedIterator();
+		
+		for(int i=0; i < k && iterator.hasNext(); ++i)
+			top.add(iterator.next());
+		
+		return top;
+	}
+
 	public void heapify() {
 		for(int i = Math.floorDiv(this.size(), 2) - 1; i >= 0; i--)
 			heapify(i);
@@ -138,6 +225,24 @@ public class MinHeap<T extends Number> {
 		}
 	}
 	
+	private void siftUp(int i) {
+		T current = this.data.get(i);
+		
+		//Move parents down until current element fits, instead of swapping
+		while(i > 0) {
+			int parentIndex = (i - 1) / 2;
+			T parent = this.data.get(parentIndex);
+			
+			if(current.doubleValue() >= parent.doubleValue())
+				break;
+			
+			this.data.set(i, parent);
+			i = parentIndex;
+		}
+		
+		this.data.set(i, current);
+	}
+	
 	private void swap(int i, int j) {
 		T temp = this.data.get(i);
 		this.data.set(i, this.data.get(j));
@@ -0,0 +1,307 @@
+package datastructures.heaps;
+
+import java.util.NoSuchElementException;
+import datastructures.lists.DynamicArrayList;
+
+/**
+ * Min-max heap implementation, giving access to both the minimum and
+ * the maximum element in one array.
+ * <p>Levels alternate between min levels and max levels, starting with
+ * a min level at the root: every element on a min level is smaller than
+ * or equal to all of its descendants, and every element on a max level
+ * is greater than or equal to all of its descendants. So the minimum is
+ * the root and the maximum is one of its children, which replaces a
+ * {@code MinHeap<T>} and {@code MaxHeap<T>} kept in sync with half the
+ * memory and without their linear {@code delete}.</p>
+ * <p>Elements are compared through {@code doubleValue()} like the other
+ * {@code Number} heaps. The array doubles once it gets full. If the
+ * corresponding constructor argument regarding to initial capacity is
+ * left empty, {@code DEFAULT_INIT_CAPACITY} (which is 10) will be
+ * assigned for initial capacity instead.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of elements to be stored in the heap,
+ * must be subclass of {@code java.lang.Number}.
+ */
+public class MinMaxHeap<T extends Number> {
+	private static final int DEFAULT_INIT_CAPACITY = 10;
+
+	private Object[] data;
+	private double[] keys;
+	private int size;
+
+	/**
+	 * Initialize heap with default initial capacity
+	 * ({@code DEFAULT_INIT_CAPACITY}) which is 10.
+	 */
+	public MinMaxHeap() {
+		this(DEFAULT_INIT_CAPACITY);
+	}
+
+	/**
+	 * Initialize heap with given initial capacity.
+	 * @param initialCapacity initial capacity of the heap
+	 */
+	public MinMaxHeap(int initialCapacity) {
+		int capacity = Math.max(initialCapacity, 1);
+
+		this.data = new Object[capacity];
+		this.keys = new double[capacity];
+		this.size = 0;
+	}
+
+	/**
+	 * Initialize heap from a given array.
+	 * <p>Elements are copied, the array is left untouched. Heap is
+	 * built bottom-up in O(n).</p>
+	 * @param arr array to build heap from
+	 */
+	public MinMaxHeap(DynamicArrayList<T> arr) {
+		this(arr.size());
+
+		for(T element : arr) {
+			data[size] = element;
+			keys[size] = element.doubleValue();
+			++size;
+		}
+
+		for(int i = size/2 - 1; i >= 0; --i)
+			pushDown(i);
+	}
+
+	/**
+	 * Returns size of the heap. (number of elements in the heap)
+	 * @return size of the heap/number of elements
+	 */
+	public int size() { return size; }
+
+	/**
+	 * Returns a boolean value indicating emptiness of the heap.
+	 * @return true if heap is empty, false otherwise
+	 */
+	public boolean isEmpty() { return size == 0; }
+
+	/**
+	 *Returns a string representation of the heap, in which
+	 *elements are spaced with empty whitespace character.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder heapString = new StringBuilder();
+
+		for(int i=0; i < size; ++i) {
+			heapString.append(data[i]);
+			heapString.append(' ');
+		}
+
+		return heapString.toString();
+	}
+
+	/**
+	 * Insert an element to the heap.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * @param data data to be inserted
+	 */
+	public void insert(T data) {
+		if(size == this.data.length)
+			extend();
+
+		this.data[size] = data;
+		keys[size] = data.doubleValue();
+		pushUp(size++);
+	}
+
+	/**
+	 * Return the minimum element.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return the minimum element of the heap
+	 */
+	public T peekMin() {
+		return elementAt(minIndex());
+	}
+
+	/**
+	 * Return the maximum element.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return the maximum element of the heap
+	 */
+	public T peekMax() {
+		return elementAt(maxIndex());
+	}
+
+	/**
+	 * Return the minimum element and remove it.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return the minimum element of the heap
+	 */
+	public T popMin() {
+		return removeAt(minIndex());
+	}
+
+	/**
+	 * Return the maximum element and remove it.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return the maximum element of the heap
+	 */
+	public T popMax() {
+		return removeAt(maxIndex());
+	}
+
+	/**
+	 * Delete all elements and clear the heap.
+	 */
+	public void clear() {
+		for(int i=0; i < size; ++i)
+			data[i] = null;
+
+		size = 0;
+	}
+
+	private int minIndex() {
+		if(size == 0)
+			throw new NoSuchElementException("Heap is empty");
+
+		return 0;
+	}
+
+	private int maxIndex() {
+		if(size == 0)
+			throw new NoSuchElementException("Heap is empty");
+
+		//Maximum is the root or the greater of its children
+		if(size == 1)
+			return 0;
+
+		if(size == 2 || keys[1] >= keys[2])
+			return 1;
+
+		return 2;
+	}
+
+	private T removeAt(int index) {
+		T removed = elementAt(index);
+
+		--size;
+		data[index] = data[size];
+		keys[index] = keys[size];
+		data[size] = null;
+
+		if(index < size)
+			pushDown(index);
+
+		return removed;
+	}
+
+	private void pushUp(int i) {
+		if(i == 0)
+			return;
+
+		int parentIndex = (i - 1) / 2;
+		boolean isMin = isMinLevel(i);
+
+		//An element in the wrong half for its level belongs
+		//to the parent's level instead
+		if(isBeyond(parentIndex, i, isMin)) {
+			swap(i, parentIndex);
+			pushUpGrandparents(parentIndex, !isMin);
+		}
+		else {
+			pushUpGrandparents(i, isMin);
+		}
+	}
+
+	private void pushUpGrandparents(int i, boolean isMin) {
+		//Only grandparents are on the same kind of level
+		while(i > 2) {
+			int grandparentIndex = ((i - 1) / 2 - 1) / 2;
+
+			if(!isBeyond(i, grandparentIndex, isMin))
+				break;
+
+			swap(i, grandparentIndex);
+			i = grandparentIndex;
+		}
+	}
+
+	private void pushDown(int i) {
+		boolean isMin = isMinLevel(i);
+
+		while(true) {
+			int firstChildIndex = 2*i + 1;
+
+			if(firstChildIndex >= size)
+				return;
+
+			//Find the extreme one of the children and grandchildren
+			int extremeIndex = firstChildIndex;
+
+			if(firstChildIndex + 1 < size && isBeyond(firstChildIndex + 1, extremeIndex, isMin))
+				extremeIndex = firstChildIndex + 1;
+
+			for(int j = 4*i + 3; j <= 4*i + 6 && j < size; ++j) {
+				if(isBeyond(j, extremeIndex, isMin))
+					extremeIndex = j;
+			}
+
+			if(!isBeyond(extremeIndex, i, isMin))
+				return;
+
+			swap(extremeIndex, i);
+
+			//A child has no descendants that could be out of order
+			if(extremeIndex <= firstChildIndex + 1)
+				return;
+
+			int parentIndex = (extremeIndex - 1) / 2;
+
+			if(isBeyond(parentIndex, extremeIndex, isMin))
+				swap(extremeIndex, parentIndex);
+
+			i = extremeIndex;
+		}
+	}
+
+	//Whether element i belongs closer to the top than element j,
+	//that is smaller on min levels and greater on max levels
+	private boolean isBeyond(int i, int j, boolean isMin) {
+		return isMin ? keys[i] < keys[j] : keys[i] > keys[j];
+	}
+
+	private static boolean isMinLevel(int i) {
+		//Level of index i is floor(log2(i + 1))
+		return ((31 - Integer.numberOfLeadingZeros(i + 1)) & 1) == 0;
+	}
+
+	private T elementAt(int i) {
+		@SuppressWarnings("unchecked")
+		T element = (T) data[i];
+		return element;
+	}
+
+	private void swap(int i, int j) {
+		Object tempData = data[i];
+		data[i] = data[j];
+		data[j] = tempData;
+
+		double tempKey = keys[i];
+		keys[i] = keys[j];
+		keys[j] = tempKey;
+	}
+
+	private void extend() {
+		Object[] newData = new Object[data.length * 2];
+		double[] newKeys = new double[keys.length * 2];
+		System.arraycopy(data, 0, newData, 0, size);
+		System.arraycopy(keys, 0, newKeys, 0, size);
+		data = newData;
+		keys = newKeys;
+	}
+}
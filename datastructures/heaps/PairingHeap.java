@@ -0,0 +1,289 @@
+package datastructures.heaps;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import datastructures.stacks.DynamicArrayStack;
+
+/**
+ * Pairing heap implementation, a pointer-based minimum heap ordered by
+ * a {@code Comparator<T>}.
+ * <p>The heap is a single tree whose root is the minimum. Inserting,
+ * decreasing a key and melding only link two trees, making the greater
+ * root the first child of the smaller one, so they take O(1) time; the
+ * restructuring is deferred to extraction, which removes the root and
+ * links its children in two passes, pairwise from left to right and
+ * then from right to left, in amortized O(logn).</p>
+ * <p>Inserting with {@code insertNode} returns the node of the element
+ * as handle for {@code decreaseKey} and {@code remove}. Pass a reversed
+ * comparator to get a maximum heap.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of elements to be stored in the heap
+ */
+public class PairingHeap<T> implements MergeableHeap<T, PairingHeap<T>> {
+	private final Comparator<? super T> comparator;
+	private PairingHeapNode<T> root;
+	private int size;
+
+	/**
+	 * Initialize heap ordered by given comparator.
+	 * @param comparator comparator to order elements with
+	 */
+	public PairingHeap(Comparator<? super T> comparator) {
+		this.comparator = comparator;
+		this.root = null;
+		this.size = 0;
+	}
+
+	@Override
+	public int size() { return size; }
+
+	/**
+	 * Insert an element to the heap.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * @param data data to be inserted
+	 */
+	@Override
+	public void insert(T data) {
+		insertNode(data);
+	}
+
+	/**
+	 * Insert an element to the heap and return its node.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * @param data data to be inserted
+	 * @return node of the inserted element, as handle for
+	 * {@code decreaseKey} and {@code remove}
+	 */
+	public PairingHeapNode<T> insertNode(T data) {
+		PairingHeapNode<T> node = new PairingHeapNode<T>(data);
+		root = root == null ? node : link(root, node);
+		++size;
+
+		return node;
+	}
+
+	/**
+	 * Return the minimum element.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return the minimum element of the heap
+	 */
+	@Override
+	public T peek() {
+		if(root == null)
+			throw new NoSuchElementException("Heap is empty");
+
+		return root.data;
+	}
+
+	/**
+	 * Return the minimum element and remove it.
+	 * <p>Time complexity of this operation is amortized O(logn).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return the minimum element of the heap
+	 */
+	@Override
+	public T extract() {
+		T data = peek();
+		PairingHeapNode<T> oldRoot = root;
+
+		root = mergePairs(oldRoot.child);
+		oldRoot.child = null;
+		--size;
+
+		return data;
+	}
+
+	/**
+	 * Decrease the key of the element with given node.
+	 * <p>The node is cut from its parent together with its subtree and
+	 * linked with the root. Time complexity of this operation is O(1),
+	 * plus amortized O(logn) paid by the next extraction.</p>
+	 * <p>Throws {@code NoSuchElementException} if the node is not in
+	 * the heap, and {@code IllegalArgumentException} if the new key
+	 * is greater than the current one.</p>
+	 * @param node node of the element
+	 * @param data new key of the element
+	 */
+	public void decreaseKey(PairingHeapNode<T> node, T data) {
+		checkNode(node);
+
+		if(comparator.compare(data, node.data) > 0)
+			throw new IllegalArgumentException("New key is greater than the current key");
+
+		node.data = data;
+
+		if(node != root) {
+			cut(node);
+			root = link(root, node);
+		}
+	}
+
+	/**
+	 * Remove the element with given node from the heap.
+	 * <p>Time complexity of this operation is amortized O(logn).</p>
+	 * <p>Throws {@code NoSuchElementException} if the node is not
+	 * in the heap.</p>
+	 * @param node node of the element
+	 * @return the removed element
+	 */
+	public T remove(PairingHeapNode<T> node) {
+		checkNode(node);
+
+		if(node == root)
+			return extract();
+
+		cut(node);
+		PairingHeapNode<T> children = mergePairs(node.child);
+		node.child = null;
+
+		if(children != null)
+			root = link(root, children);
+
+		--size;
+		return node.data;
+	}
+
+	/**
+	 * Move every element of the given heap into this heap, leaving
+	 * the given heap empty. Nodes of the given heap stay valid as
+	 * handles of this heap.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code IllegalArgumentException} if the given heap is
+	 * this heap.</p>
+	 * @param other heap to be melded into this heap
+	 */
+	@Override
+	public void meld(PairingHeap<T> other) {
+		if(other == this)
+			throw new IllegalArgumentException("Heap can't be melded into itself");
+
+		if(other.root != null)
+			root = root == null ? other.root : link(root, other.root);
+
+		size += other.size;
+		other.root = null;
+		other.size = 0;
+	}
+
+	/**
+	 * Delete all elements and clear the heap.
+	 */
+	public void clear() {
+		root = null;
+		size = 0;
+	}
+
+	/**
+	 *Returns a string representation of the heap in preorder, in
+	 *which elements are spaced with empty whitespace character.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder heapString = new StringBuilder();
+		DynamicArrayStack<PairingHeapNode<T>> stack = new DynamicArrayStack<PairingHeapNode<T>>();
+
+		if(root != null)
+			stack.push(root);
+
+		while(!stack.isEmpty()) {
+			PairingHeapNode<T> node = stack.pop();
+			heapString.append(node.data);
+			heapString.append(' ');
+
+			if(node.next != null)
+				stack.push(node.next);
+
+			if(node.child != null)
+				stack.push(node.child);
+		}
+
+		return heapString.toString();
+	}
+
+	//Makes the root with the greater key the first child of the other
+	//one and returns the other one. Both must be roots without siblings.
+	private PairingHeapNode<T> link(PairingHeapNode<T> first, PairingHeapNode<T> second) {
+		PairingHeapNode<T> parent = first;
+		PairingHeapNode<T> child = second;
+
+		if(comparator.compare(second.data, first.data) < 0) {
+			parent = second;
+			child = first;
+		}
+
+		child.next = parent.child;
+
+		if(parent.child != null)
+			parent.child.prev = child;
+
+		child.prev = parent;
+		parent.child = child;
+
+		return parent;
+	}
+
+	private void cut(PairingHeapNode<T> node) {
+		if(node.prev.child == node)
+			node.prev.child = node.next;
+		else
+			node.prev.next = node.next;
+
+		if(node.next != null)
+			node.next.prev = node.prev;
+
+		node.next = null;
+		node.prev = null;
+	}
+
+	//Links given siblings into one tree, first pairwise from left to
+	//right, then the pairs from right to left. Iterative, since there
+	//can be as many siblings as elements.
+	private PairingHeapNode<T> mergePairs(PairingHeapNode<T> first) {
+		PairingHeapNode<T> pairs = null;
+
+		//Pairs are chained in reverse order through next links
+		while(first != null) {
+			PairingHeapNode<T> pair = first;
+			PairingHeapNode<T> second = first.next;
+			first = second == null ? null : second.next;
+
+			pair.next = null;
+			pair.prev = null;
+
+			if(second != null) {
+				second.next = null;
+				second.prev = null;
+				pair = link(pair, second);
+			}
+
+			pair.next = pairs;
+			pairs = pair;
+		}
+
+		if(pairs == null)
+			return null;
+
+		PairingHeapNode<T> merged = pairs;
+		pairs = pairs.next;
+		merged.next = null;
+
+		while(pairs != null) {
+			PairingHeapNode<T> next = pairs.next;
+			pairs.next = null;
+			merged = link(merged, pairs);
+			pairs = next;
+		}
+
+		return merged;
+	}
+
+	private void checkNode(PairingHeapNode<T> node) {
+		//Every node but the root has a previous sibling or a parent
+		if(node != root && node.prev == null)
+			throw new NoSuchElementException("Node is not in the heap");
+	}
+}
@@ -0,0 +1,28 @@
+package datastructures.heaps;
+
+/**
+ * Handle of an element inserted to a {@code PairingHeap<T>}.
+ * <p>Handles are the tree nodes themselves, so the key of an element
+ * can be decreased or the element removed without searching for it.
+ * Every node links to its first child and its next sibling, and back
+ * to its previous sibling, or to its parent if it's the first child.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of the element
+ */
+public class PairingHeapNode<T> {
+	T data;
+	PairingHeapNode<T> child;
+	PairingHeapNode<T> next;
+	PairingHeapNode<T> prev;
+
+	PairingHeapNode(T data) {
+		this.data = data;
+	}
+
+	/**
+	 * Returns the element of this node.
+	 * @return element of the node
+	 */
+	public T data() { return data; }
+}
@@ -0,0 +1,185 @@
+package datastructures.heaps;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import datastructures.lists.DynamicArrayList;
+
+/**
+ * Bulk builder for {@code MinHeap<T>} and {@code MaxHeap<T>} that
+ * heapifies large arrays on a {@code ForkJoinPool}.
+ * <p>The two subtrees of a node are disjoint parts of the array, so they
+ * can be heapified independently. The builder splits the array into
+ * subtrees recursively, heapifies the subtrees of at most
+ * {@code threshold} elements bottom-up in parallel, then sifts down the
+ * roots of the top levels as their subtrees complete. Total work is O(n)
+ * like the sequential {@code heapify}, only the top log(n/threshold)
+ * levels are left to wait on each other.</p>
+ * <p>The given array is heapified in place and becomes the {@code data}
+ * of the returned heap, just like with the {@code DynamicArrayList<T>}
+ * constructors. If the corresponding constructor arguments are left
+ * empty, {@code ForkJoinPool.commonPool()} is used as pool and
+ * {@code DEFAULT_THRESHOLD} (which is 2^14) as threshold.</p>
+ * @author Baris Unlusarac
+ */
+public class ParallelHeapBuilder {
+	private static final int DEFAULT_THRESHOLD = 1 << 14;
+
+	private final ForkJoinPool pool;
+	private final int threshold;
+
+	/**
+	 * Initialize builder running on {@code ForkJoinPool.commonPool()}.
+	 */
+	public ParallelHeapBuilder() {
+		this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * Initialize builder running on given pool, which heapifies subtrees
+	 * of at most given number of elements sequentially.
+	 * <p>Throws {@code IllegalArgumentException} if threshold is not
+	 * positive.</p>
+	 * @param pool pool to run on
+	 * @param threshold maximum number of elements heapified by one task
+	 */
+	public ParallelHeapBuilder(ForkJoinPool pool, int threshold) {
+		if(threshold <= 0)
+			throw new IllegalArgumentException("Threshold must be positive");
+
+		this.pool = pool;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Heapify given array as a minimum heap and return the heap.
+	 * <p>Time complexity of this operation is O(n), O(n/p + log^2(n))
+	 * on p threads.</p>
+	 * @param <T> type of elements in the array
+	 * @param arr array to build heap from
+	 * @return minimum heap backed by the array
+	 */
+	public <T extends Number> MinHeap<T> buildMinHeap(DynamicArrayList<T> arr) {
+		build(arr, true);
+
+		MinHeap<T> heap = new MinHeap<T>();
+		heap.data = arr;
+		return heap;
+	}
+
+	/**
+	 * Heapify given array as a maximum heap and return the heap.
+	 * <p>Time complexity of this operation is O(n), O(n/p + log^2(n))
+	 * on p threads.</p>
+	 * @param <T> type of elements in the array
+	 * @param arr array to build heap from
+	 * @return maximum heap backed by the array
+	 */
+	public <T extends Number> MaxHeap<T> buildMaxHeap(DynamicArrayList<T> arr) {
+		build(arr, false);
+
+		MaxHeap<T> heap = new MaxHeap<T>();
+		heap.data = arr;
+		return heap;
+	}
+
+	private <T extends Number> void build(DynamicArrayList<T> arr, boolean isMin) {
+		HeapifyTask<T> task = new HeapifyTask<T>(arr, isMin, threshold, 0);
+
+		//Not worth handing over to the pool
+		if(arr.size() <= threshold)
+			task.compute();
+		else
+			pool.invoke(task);
+	}
+
+	private static final class HeapifyTask<T extends Number> extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final DynamicArrayList<T> arr;
+		private final boolean isMin;
+		private final int threshold;
+		private final int root;
+
+		HeapifyTask(DynamicArrayList<T> arr, boolean isMin, int threshold, int root) {
+			this.arr = arr;
+			this.isMin = isMin;
+			this.threshold = threshold;
+			this.root = root;
+		}
+
+		@Override
+		protected void compute() {
+			int size = arr.size();
+
+			//Subtree of a node at depth d has about n/2^d elements
+			int depth = 31 - Integer.numberOfLeadingZeros(root + 1);
+
+			if((size >>> depth) <= threshold) {
+				heapifySubtree(size);
+				return;
+			}
+
+			invokeAll(new HeapifyTask<T>(arr, isMin, threshold, 2*root + 1),
+					new HeapifyTask<T>(arr, isMin, threshold, 2*root + 2));
+
+			siftDown(root, size);
+		}
+
+		//Sequential bottom-up heapify restricted to the subtree of root,
+		//whose every level is a contiguous range of the array
+		private void heapifySubtree(int size) {
+			int half = size >>> 1;
+			int first = root;
+			int count = 1;
+
+			while(2*first + 1 < half) {
+				first = 2*first + 1;
+				count *= 2;
+			}
+
+			while(true) {
+				for(int i = Math.min(first + count, half) - 1; i >= first; --i)
+					siftDown(i, size);
+
+				if(first == root)
+					break;
+
+				first = (first - 1) >>> 1;
+				count >>>= 1;
+			}
+		}
+
+		private void siftDown(int i, int size) {
+			T current = arr.get(i);
+			double currentValue = current.doubleValue();
+			int half = size >>> 1;
+
+			//Move children up until current element fits, instead of swapping
+			while(i < half) {
+				int childIndex = 2*i + 1;
+				T child = arr.get(childIndex);
+
+				if(childIndex + 1 < size) {
+					T rightChild = arr.get(childIndex + 1);
+
+					if(isBefore(rightChild.doubleValue(), child.doubleValue())) {
+						++childIndex;
+						child = rightChild;
+					}
+				}
+
+				if(!isBefore(child.doubleValue(), currentValue))
+					break;
+
+				arr.set(i, child);
+				i = childIndex;
+			}
+
+			arr.set(i, current);
+		}
+
+		private boolean isBefore(double first, double second) {
+			return isMin ? first < second : first > second;
+		}
+	}
+}
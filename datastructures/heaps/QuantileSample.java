@@ -0,0 +1,38 @@
+package datastructures.heaps;
+
+/**
+ * Handle of a sample added to a {@code SlidingWindowQuantile<T>}.
+ * <p>A sample moves between the lower and the upper heap of the
+ * window as other samples come and go; its handle follows it, so
+ * it can be removed in O(logn) wherever it is.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of the sample
+ */
+public class QuantileSample<T extends Number> {
+	static final int NOT_IN_WINDOW = -1;
+
+	final T data;
+	final double value;
+	boolean isLower;
+	int heapHandle;
+
+	QuantileSample(T data) {
+		this.data = data;
+		this.value = data.doubleValue();
+		this.heapHandle = NOT_IN_WINDOW;
+	}
+
+	/**
+	 * Returns the sample.
+	 * @return the sample
+	 */
+	public T data() { return data; }
+
+	/**
+	 * Returns a boolean value indicating whether the sample
+	 * is still in the window.
+	 * @return true if the sample is in the window, false otherwise
+	 */
+	public boolean isInWindow() { return heapHandle != NOT_IN_WINDOW; }
+}
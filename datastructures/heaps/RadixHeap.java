@@ -0,0 +1,199 @@
+package datastructures.heaps;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Radix heap implementation, a monotone minimum priority queue of
+ * values with {@code long} keys.
+ * <p>Monotone means an inserted key may never be smaller than the last
+ * extracted one, which holds for Dijkstra's algorithm and event
+ * simulations. Instead of comparing keys with each other, every entry
+ * goes to the bucket numbered by the highest bit in which its key
+ * differs from the last extracted key (bucket 0 if it's equal), so
+ * inserting is O(1). Extraction takes from bucket 0; if it's empty,
+ * the first non-empty bucket is scanned for its minimum key, which
+ * becomes the last extracted key, and its entries are redistributed
+ * into lower buckets. An entry only moves to lower buckets, so
+ * extraction is amortized O(logC) for keys spanning a range of C.</p>
+ * <p>Keys are compared as plain {@code long}s, negative ones included.
+ * There is no decrease-key; insert the entry again with the new key and
+ * skip the stale one when it's extracted. Buckets double once they get
+ * full.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <V> type of values to be stored in the heap
+ */
+public class RadixHeap<V> {
+	private static final int BUCKET_COUNT = Long.SIZE + 1;
+	private static final int INIT_BUCKET_CAPACITY = 4;
+
+	private final long[][] keys;
+	private final Object[][] values;
+	private final int[] sizes;
+	private long last;
+	private int size;
+
+	/**
+	 * Initialize an empty heap, which accepts any key at first.
+	 */
+	public RadixHeap() {
+		this.keys = new long[BUCKET_COUNT][];
+		this.values = new Object[BUCKET_COUNT][];
+		this.sizes = new int[BUCKET_COUNT];
+		this.last = Long.MIN_VALUE;
+		this.size = 0;
+	}
+
+	/**
+	 * Returns size of the heap. (number of entries in the heap)
+	 * @return size of the heap/number of entries
+	 */
+	public int size() { return size; }
+
+	/**
+	 * Returns a boolean value indicating emptiness of the heap.
+	 * @return true if heap is empty, false otherwise
+	 */
+	public boolean isEmpty() { return size == 0; }
+
+	/**
+	 * Returns the smallest key that can be inserted, which is the last
+	 * peeked or extracted minimum key. It's {@code Long.MIN_VALUE}
+	 * until the first peek or extraction.
+	 * @return the smallest key that can be inserted
+	 */
+	public long lastKey() { return last; }
+
+	/**
+	 * Insert a value with given key.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code IllegalArgumentException} if the key is smaller
+	 * than {@code lastKey}.</p>
+	 * @param key key of the value
+	 * @param value value to be inserted
+	 */
+	public void insert(long key, V value) {
+		if(key < last)
+			throw new IllegalArgumentException("Key is smaller than the last key");
+
+		add(bucketOf(key), key, value);
+		++size;
+	}
+
+	/**
+	 * Return the key of the value with the minimum key.
+	 * <p>Time complexity of this operation is amortized O(logC).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return the minimum key of the heap
+	 */
+	public long peekKey() {
+		pull();
+		return last;
+	}
+
+	/**
+	 * Return the value with the minimum key.
+	 * <p>Time complexity of this operation is amortized O(logC).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return the value with the minimum key
+	 */
+	public V peek() {
+		pull();
+
+		@SuppressWarnings("unchecked")
+		V value = (V) values[0][sizes[0] - 1];
+		return value;
+	}
+
+	/**
+	 * Return the value with the minimum key and remove it.
+	 * <p>Time complexity of this operation is amortized O(logC).</p>
+	 * <p>Throws {@code NoSuchElementException} if the heap
+	 * is empty.</p>
+	 * @return the value with the minimum key
+	 */
+	public V extractMin() {
+		V value = peek();
+
+		values[0][--sizes[0]] = null;
+		--size;
+
+		return value;
+	}
+
+	/**
+	 * Delete all entries and clear the heap. Any key can be
+	 * inserted afterwards.
+	 */
+	public void clear() {
+		for(int i=0; i < BUCKET_COUNT; ++i) {
+			for(int j=0; j < sizes[i]; ++j)
+				values[i][j] = null;
+
+			sizes[i] = 0;
+		}
+
+		last = Long.MIN_VALUE;
+		size = 0;
+	}
+
+	//Makes sure bucket 0, where every key equals last, isn't empty
+	private void pull() {
+		if(size == 0)
+			throw new NoSuchElementException("Heap is empty");
+
+		if(sizes[0] > 0)
+			return;
+
+		int bucket = 1;
+
+		while(sizes[bucket] == 0)
+			++bucket;
+
+		long[] bucketKeys = keys[bucket];
+		Object[] bucketValues = values[bucket];
+		int bucketSize = sizes[bucket];
+		long min = bucketKeys[0];
+
+		for(int i=1; i < bucketSize; ++i)
+			min = Math.min(min, bucketKeys[i]);
+
+		//Every key of the bucket now differs from last in a lower bit
+		last = min;
+		sizes[bucket] = 0;
+
+		for(int i=0; i < bucketSize; ++i) {
+			add(bucketOf(bucketKeys[i]), bucketKeys[i], bucketValues[i]);
+			bucketValues[i] = null;
+		}
+	}
+
+	private int bucketOf(long key) {
+		//Keys compare like unsigned values with their sign bit flipped,
+		//which flips it in both operands and leaves the XOR unchanged
+		return Long.SIZE - Long.numberOfLeadingZeros(key ^ last);
+	}
+
+	private void add(int bucket, long key, Object value) {
+		int bucketSize = sizes[bucket];
+
+		if(keys[bucket] == null) {
+			keys[bucket] = new long[INIT_BUCKET_CAPACITY];
+			values[bucket] = new Object[INIT_BUCKET_CAPACITY];
+		}
+		else if(bucketSize == keys[bucket].length) {
+			long[] newKeys = new long[bucketSize * 2];
+			Object[] newValues = new Object[bucketSize * 2];
+			System.arraycopy(keys[bucket], 0, newKeys, 0, bucketSize);
+			System.arraycopy(values[bucket], 0, newValues, 0, bucketSize);
+			keys[bucket] = newKeys;
+			values[bucket] = newValues;
+		}
+
+		keys[bucket][bucketSize] = key;
+		values[bucket][bucketSize] = value;
+		sizes[bucket] = bucketSize + 1;
+	}
+}
@@ -0,0 +1,142 @@
+package datastructures.heaps;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming quantile tracker built on a {@code MaxHeap<T>} holding the
+ * lower part of the samples and a {@code MinHeap<T>} holding the upper part.
+ * <p>For quantile q and n samples, the lower heap always holds the
+ * ceil(q*n) smallest samples, so the quantile (by nearest rank) is the
+ * top of the lower heap, and the median of an even number of samples is
+ * the mean of the two tops. Adding a sample inserts it to one of the
+ * heaps and moves at most one top to the other to restore the sizes.</p>
+ * <p>Samples are compared through {@code doubleValue()} like the heaps.
+ * If the corresponding constructor argument is left empty, the median
+ * (quantile 0.5) is tracked. To drop old samples, see
+ * {@code SlidingWindowQuantile<T>}.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of samples, must be subclass of {@code java.lang.Number}.
+ */
+public class RunningQuantile<T extends Number> {
+	private static final double MEDIAN = 0.5;
+
+	private final double quantile;
+	private final MaxHeap<T> lower;
+	private final MinHeap<T> upper;
+
+	/**
+	 * Initialize tracker of the median.
+	 */
+	public RunningQuantile() {
+		this(MEDIAN);
+	}
+
+	/**
+	 * Initialize tracker of given quantile.
+	 * <p>Throws {@code IllegalArgumentException} if quantile is not
+	 * in range (0, 1).</p>
+	 * @param quantile quantile to be tracked
+	 */
+	public RunningQuantile(double quantile) {
+		if(!(quantile > 0 && quantile < 1))
+			throw new IllegalArgumentException("Quantile must be in range (0, 1)");
+
+		this.quantile = quantile;
+		this.lower = new MaxHeap<T>();
+		this.upper = new MinHeap<T>();
+	}
+
+	/**
+	 * Returns number of samples.
+	 * @return number of samples
+	 */
+	public int size() { return lower.size() + upper.size(); }
+
+	/**
+	 * Returns a boolean value indicating whether there are no samples.
+	 * @return true if there are no samples, false otherwise
+	 */
+	public boolean isEmpty() { return size() == 0; }
+
+	/**
+	 * Add a sample.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * @param data sample to be added
+	 */
+	public void add(T data) {
+		if(lower.size() == 0 || data.doubleValue() <= lower.peek().doubleValue())
+			lower.insert(data);
+		else
+			upper.insert(data);
+
+		rebalance();
+	}
+
+	/**
+	 * Return the sample at the tracked quantile, by nearest rank.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if there are no samples.</p>
+	 * @return sample at the tracked quantile
+	 */
+	public T quantile() {
+		if(lower.size() == 0)
+			throw new NoSuchElementException("There are no samples");
+
+		return lower.peek();
+	}
+
+	/**
+	 * Return the median of the samples, which is the mean of the
+	 * two middle samples if the number of samples is even.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if there are no samples,
+	 * and {@code IllegalStateException} if the tracked quantile is
+	 * not the median.</p>
+	 * @return median of the samples
+	 */
+	public double median() {
+		if(quantile != MEDIAN)
+			throw new IllegalStateException("Tracked quantile is not the median");
+
+		double middle = quantile().doubleValue();
+
+		if(lower.size() == upper.size())
+			return (middle + upper.peek().doubleValue()) / 2;
+
+		return middle;
+	}
+
+	/**
+	 * Delete all samples.
+	 */
+	public void clear() {
+		lower.data.clear();
+		upper.data.clear();
+	}
+
+	private void rebalance() {
+		int target = lowerSize(quantile, size());
+
+		if(lower.size() > target)
+			upper.insert(lower.extractMax());
+		else if(lower.size() < target)
+			lower.insert(upper.extractMin());
+	}
+
+	//Number of samples in the lower part, at least one if there are any
+	static int lowerSize(double quantile, int size) {
+		if(size == 0)
+			return 0;
+
+		double rank = quantile * size;
+		double nearest = Math.rint(rank);
+
+		//Products like 0.07 * 100 = 7.000000000000001 end up a few ulps
+		//past the intended rank, which ceil would turn into the next one
+		if(Math.abs(rank - nearest) <= 4 * Math.ulp(rank))
+			rank = nearest;
+
+		return Math.max((int) Math.ceil(rank), 1);
+	}
+}
@@ -0,0 +1,148 @@
+package datastructures.heaps;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+/**
+ * Quantile tracker over a window of samples that can be removed again,
+ * such as the samples of the last minute.
+ * <p>Works like {@code RunningQuantile<T>}, but the lower and the upper
+ * part are kept in two {@code IndexedMinHeap}s (the lower one ordered
+ * in reverse), so that any sample can be removed by the handle returned
+ * when adding it, without searching. Adding and removing are O(logn),
+ * querying is O(1).</p>
+ * <p>Samples are compared through {@code doubleValue()}. If the
+ * corresponding constructor argument is left empty, the median
+ * (quantile 0.5) is tracked.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of samples, must be subclass of {@code java.lang.Number}.
+ */
+public class SlidingWindowQuantile<T extends Number> {
+	private static final double MEDIAN = 0.5;
+
+	private final double quantile;
+	private final IndexedMinHeap<QuantileSample<T>> lower;
+	private final IndexedMinHeap<QuantileSample<T>> upper;
+
+	/**
+	 * Initialize tracker of the median.
+	 */
+	public SlidingWindowQuantile() {
+		this(MEDIAN);
+	}
+
+	/**
+	 * Initialize tracker of given quantile.
+	 * <p>Throws {@code IllegalArgumentException} if quantile is not
+	 * in range (0, 1).</p>
+	 * @param quantile quantile to be tracked
+	 */
+	public SlidingWindowQuantile(double quantile) {
+		if(!(quantile > 0 && quantile < 1))
+			throw new IllegalArgumentException("Quantile must be in range (0, 1)");
+
+		Comparator<QuantileSample<T>> byValue = (first, second) -> Double.compare(first.value, second.value);
+
+		this.quantile = quantile;
+		this.lower = new IndexedMinHeap<QuantileSample<T>>(byValue.reversed());
+		this.upper = new IndexedMinHeap<QuantileSample<T>>(byValue);
+	}
+
+	/**
+	 * Returns number of samples in the window.
+	 * @return number of samples
+	 */
+	public int size() { return lower.size() + upper.size(); }
+
+	/**
+	 * Returns a boolean value indicating whether the window is empty.
+	 * @return true if there are no samples, false otherwise
+	 */
+	public boolean isEmpty() { return size() == 0; }
+
+	/**
+	 * Add a sample to the window.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * @param data sample to be added
+	 * @return handle to remove the sample with
+	 */
+	public QuantileSample<T> add(T data) {
+		QuantileSample<T> sample = new QuantileSample<T>(data);
+
+		if(lower.isEmpty() || sample.value <= lower.peek().value)
+			insert(sample, true);
+		else
+			insert(sample, false);
+
+		rebalance();
+		return sample;
+	}
+
+	/**
+	 * Remove a sample from the window.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * @param sample handle of the sample
+	 * @return true if the sample is removed, false if it had
+	 * already been removed
+	 */
+	public boolean remove(QuantileSample<T> sample) {
+		if(!sample.isInWindow())
+			return false;
+
+		(sample.isLower ? lower : upper).remove(sample.heapHandle);
+		sample.heapHandle = QuantileSample.NOT_IN_WINDOW;
+
+		rebalance();
+		return true;
+	}
+
+	/**
+	 * Return the sample at the tracked quantile, by nearest rank.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if the window is empty.</p>
+	 * @return sample at the tracked quantile
+	 */
+	public T quantile() {
+		if(lower.isEmpty())
+			throw new NoSuchElementException("There are no samples");
+
+		return lower.peek().data;
+	}
+
+	/**
+	 * Return the median of the samples, which is the mean of the
+	 * two middle samples if the number of samples is even.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if the window is empty,
+	 * and {@code IllegalStateException} if the tracked quantile is
+	 * not the median.</p>
+	 * @return median of the samples
+	 */
+	public double median() {
+		if(quantile != MEDIAN)
+			throw new IllegalStateException("Tracked quantile is not the median");
+
+		double middle = quantile().doubleValue();
+
+		if(lower.size() == upper.size())
+			return (middle + upper.peek().value) / 2;
+
+		return middle;
+	}
+
+	private void rebalance() {
+		//Window size changes by one at a time, so at most one sample moves
+		int target = RunningQuantile.lowerSize(quantile, size());
+
+		if(lower.size() > target)
+			insert(lower.extractMin(), false);
+		else if(lower.size() < target)
+			insert(upper.extractMin(), true);
+	}
+
+	private void insert(QuantileSample<T> sample, boolean isLower) {
+		sample.isLower = isLower;
+		sample.heapHandle = (isLower ? lower : upper).insert(sample);
+	}
+}
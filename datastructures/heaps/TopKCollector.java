@@ -0,0 +1,222 @@
+package datastructures.heaps;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import datastructures.lists.DynamicArrayList;
+
+/**
+ * Collector of the k greatest elements of a stream, ordered by a
+ * {@code Comparator<T>}.
+ * <p>Only k elements are ever kept, in a fixed-size minimum heap whose
+ * root is the smallest of them, i.e. the current k-th greatest element.
+ * Once the collector is full, a candidate that isn't greater than the
+ * root is rejected with a single comparison, which is what almost every
+ * element of a long stream is; an accepted one replaces the root.</p>
+ * <p>A collector is not thread-safe. To collect in parallel, give every
+ * worker its own collector and {@code merge} them afterwards. Pass a
+ * reversed comparator to collect the k smallest elements.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of elements to be collected
+ */
+public class TopKCollector<T> {
+	private final Comparator<? super T> comparator;
+	private final Object[] data;
+	private int size;
+
+	/**
+	 * Initialize collector of the k greatest elements by given comparator.
+	 * <p>Throws {@code IllegalArgumentException} if k is not positive.</p>
+	 * @param k number of elements to be collected
+	 * @param comparator comparator to order elements with
+	 */
+	public TopKCollector(int k, Comparator<? super T> comparator) {
+		if(k <= 0)
+			throw new IllegalArgumentException("k must be positive");
+
+		this.comparator = comparator;
+		this.data = new Object[k];
+		this.size = 0;
+	}
+
+	/**
+	 * Returns number of collected elements, which is at most k.
+	 * @return number of collected elements
+	 */
+	public int size() { return size; }
+
+	/**
+	 * Returns number of elements to be collected.
+	 * @return k
+	 */
+	public int capacity() { return data.length; }
+
+	/**
+	 * Returns a boolean value indicating whether k elements are collected.
+	 * @return true if k elements are collected, false otherwise
+	 */
+	public boolean isFull() { return size == data.length; }
+
+	/**
+	 * Offer an element to the collector.
+	 * <p>Time complexity of this operation is O(1) if the element is
+	 * rejected, O(logk) otherwise.</p>
+	 * @param data element to be offered
+	 * @return true if the element is among the k greatest so far,
+	 * false if it's rejected
+	 */
+	public boolean offer(T data) {
+		if(size < this.data.length) {
+			siftUp(size++, data);
+			return true;
+		}
+
+		if(comparator.compare(data, threshold()) <= 0)
+			return false;
+
+		siftDown(0, data);
+		return true;
+	}
+
+	/**
+	 * Offer every element collected by the given collector, leaving
+	 * the given collector untouched.
+	 * <p>Time complexity of this operation is O(mlogk) for m elements
+	 * collected by the given collector.</p>
+	 * <p>Throws {@code IllegalArgumentException} if the given collector
+	 * is this collector.</p>
+	 * @param other collector to be merged into this collector
+	 */
+	public void merge(TopKCollector<? extends T> other) {
+		if(other == this)
+			throw new IllegalArgumentException("Collector can't be merged into itself");
+
+		for(int i=0; i < other.size; ++i) {
+			@SuppressWarnings("unchecked")
+			T element = (T) other.data[i];
+			offer(element);
+		}
+	}
+
+	/**
+	 * Return the smallest collected element, which is the k-th greatest
+	 * element once the collector is full.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if nothing is collected.</p>
+	 * @return the smallest collected element
+	 */
+	public T threshold() {
+		if(size == 0)
+			throw new NoSuchElementException("Nothing is collected");
+
+		@SuppressWarnings("unchecked")
+		T top = (T) data[0];
+		return top;
+	}
+
+	/**
+	 * Returns the collected elements, greatest first, without
+	 * modifying the collector.
+	 * <p>Time complexity of this operation is O(klogk).</p>
+	 * @return collected elements in descending order
+	 */
+	public DynamicArrayList<T> toSortedList() {
+		Object[] sorted = new Object[size];
+		System.arraycopy(data, 0, sorted, 0, size);
+
+		//Heapsort on the copy of the minimum heap, moving the
+		//minimum to the back leaves it in descending order
+		for(int end = size - 1; end > 0; --end) {
+			@SuppressWarnings("unchecked")
+			T last = (T) sorted[end];
+			sorted[end] = sorted[0];
+			siftDown(sorted, end, 0, last);
+		}
+
+		DynamicArrayList<T> list = new DynamicArrayList<T>(Math.max(size, 1));
+
+		for(int i=0; i < size; ++i) {
+			@SuppressWarnings("unchecked")
+			T element = (T) sorted[i];
+			list.add(element);
+		}
+
+		return list;
+	}
+
+	/**
+	 * Delete every collected element.
+	 */
+	public void clear() {
+		for(int i=0; i < size; ++i)
+			data[i] = null;
+
+		size = 0;
+	}
+
+	/**
+	 *Returns a string representation of the collector in heap order,
+	 *in which elements are spaced with empty whitespace character.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder collectorString = new StringBuilder();
+
+		for(int i=0; i < size; ++i) {
+			collectorString.append(data[i]);
+			collectorString.append(' ');
+		}
+
+		return collectorString.toString();
+	}
+
+	private void siftUp(int index, T data) {
+		while(index > 0) {
+			int parentIndex = (index - 1) >>> 1;
+
+			@SuppressWarnings("unchecked")
+			T parent = (T) this.data[parentIndex];
+
+			if(comparator.compare(data, parent) >= 0)
+				break;
+
+			this.data[index] = parent;
+			index = parentIndex;
+		}
+
+		this.data[index] = data;
+	}
+
+	private void siftDown(int index, T data) {
+		siftDown(this.data, size, index, data);
+	}
+
+	private void siftDown(Object[] heap, int size, int index, T data) {
+		int half = size >>> 1;
+
+		while(index < half) {
+			int childIndex = 2*index + 1;
+
+			@SuppressWarnings("unchecked")
+			T child = (T) heap[childIndex];
+
+			if(childIndex + 1 < size) {
+				@SuppressWarnings("unchecked")
+				T rightChild = (T) heap[childIndex + 1];
+
+				if(comparator.compare(rightChild, child) < 0) {
+					++childIndex;
+					child = rightChild;
+				}
+			}
+
+			if(comparator.compare(data, child) <= 0)
+				break;
+
+			heap[index] = child;
+			index = childIndex;
+		}
+
+		heap[index] = data;
+	}
+}
@@ -0,0 +1,77 @@
+package datastructures.queues;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Wait strategy that spins, then yields, then parks the thread for
+ * exponentially growing periods between checks of the condition.
+ * <p>Park time starts at {@code MIN_PARK_NANOS} (1 microsecond) and
+ * doubles up to {@code maxParkNanos}, which is 1 millisecond if the
+ * corresponding constructor argument is left empty. Since it doesn't
+ * need signals, producers and consumers never pay for waking each
+ * other up.</p>
+ * @author Baris Unlusarac
+ */
+public class BackoffParkingWaitStrategy implements WaitStrategy {
+	private static final int SPIN_TRIES = 100;
+	private static final int YIELD_TRIES = 100;
+	private static final long MIN_PARK_NANOS = 1_000;
+	private static final long DEFAULT_MAX_PARK_NANOS = 1_000_000;
+	
+	private final long maxParkNanos;
+	
+	/**
+	 * Initialize strategy with default maximum park time 
+	 * ({@code DEFAULT_MAX_PARK_NANOS}) which is 1 millisecond.
+	 */
+	public BackoffParkingWaitStrategy() {
+		this(DEFAULT_MAX_PARK_NANOS);
+	}
+	
+	/**
+	 * Initialize strategy with given maximum park time.
+	 * <p>Throws {@code IllegalArgumentException} if maximum park time
+	 * is less than {@code MIN_PARK_NANOS}.</p>
+	 * @param maxParkNanos maximum park time in nanoseconds
+	 */
+	public BackoffParkingWaitStrategy(long maxParkNanos) {
+		if(maxParkNanos < MIN_PARK_NANOS)
+			throw new IllegalArgumentException("Maximum park time must be at least " + MIN_PARK_NANOS + "ns");
+		
+		this.maxParkNanos = maxParkNanos;
+	}
+	
+	@Override
+	public boolean await(BooleanSupplier condition, long timeoutNanos) throws InterruptedException {
+		long deadline = WaitStrategies.deadline(timeoutNanos);
+		long parkNanos = MIN_PARK_NANOS;
+		int tries = 0;
+		
+		while(!condition.getAsBoolean()) {
+			if(Thread.interrupted())
+				throw new InterruptedException();
+			
+			if(WaitStrategies.isExpired(deadline))
+				return false;
+			
+			if(tries < SPIN_TRIES) {
+				Thread.onSpinWait();
+			}
+			else if(tries < SPIN_TRIES + YIELD_TRIES) {
+				Thread.yield();
+			}
+			else {
+				LockSupport.parkNanos(this, parkNanos);
+				parkNanos = Math.min(parkNanos * 2, maxParkNanos);
+			}
+			
+			++tries;
+		}
+		
+		return true;
+	}
+	
+	@Override
+	public void signalAll() {}
+}
@@ -0,0 +1,86 @@
+package datastructures.queues;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Wait strategy that blocks waiting threads on a lock condition until
+ * they are signalled.
+ * <p>Uses no CPU while waiting, at the cost of a lock acquisition on
+ * the signalling side whenever there are waiting threads. While nobody
+ * waits, signalling is a fence and a volatile read of the waiter count,
+ * without taking the lock. The fence pairs with the waiter registration
+ * in {@code await}: either the signalling thread sees the waiter, or the
+ * waiter sees the change when it re-checks its condition, so no wakeup
+ * is missed. {@code ReentrantLock} is used instead of {@code synchronized}
+ * so that virtual threads don't pin their carrier while blocked.</p>
+ * @author Baris Unlusarac
+ */
+public class BlockingWaitStrategy implements WaitStrategy {
+	private final ReentrantLock lock;
+	private final Condition changed;
+	private final AtomicInteger waiters;
+	
+	public BlockingWaitStrategy() {
+		this.lock = new ReentrantLock();
+		this.changed = lock.newCondition();
+		this.waiters = new AtomicInteger();
+	}
+	
+	@Override
+	public boolean await(BooleanSupplier condition, long timeoutNanos) throws InterruptedException {
+		if(condition.getAsBoolean())
+			return true;
+		
+		long deadline = WaitStrategies.deadline(timeoutNanos);
+		
+		lock.lockInterruptibly();
+		waiters.incrementAndGet();
+		
+		try {
+			//Condition is re-checked under the lock after registering as 
+			//a waiter, so a signal can't slip in between check and wait
+			while(!condition.getAsBoolean()) {
+				if(deadline == WaitStrategies.NO_DEADLINE) {
+					changed.await();
+				}
+				else {
+					long remaining = deadline - System.nanoTime();
+					
+					if(remaining <= 0)
+						return false;
+					
+					changed.awaitNanos(remaining);
+				}
+			}
+			
+			return true;
+		}
+		finally {
+			waiters.decrementAndGet();
+			lock.unlock();
+		}
+	}
+	
+	@Override
+	public void signalAll() {
+		//Order the caller's preceding release stores before reading the
+		//waiter count, pairs with the increment in await()
+		VarHandle.fullFence();
+		
+		if(waiters.get() == 0)
+			return;
+		
+		lock.lock();
+		
+		try {
+			changed.signalAll();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package datastructures.queues;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Wait strategy that spins on the condition without ever giving up
+ * the CPU.
+ * <p>Gives the lowest latency, but only makes sense when waiting
+ * threads are pinned to cores of their own.</p>
+ * @author Baris Unlusarac
+ */
+public class BusySpinWaitStrategy implements WaitStrategy {
+	@Override
+	public boolean await(BooleanSupplier condition, long timeoutNanos) throws InterruptedException {
+		long deadline = WaitStrategies.deadline(timeoutNanos);
+		
+		while(!condition.getAsBoolean()) {
+			if(Thread.interrupted())
+				throw new InterruptedException();
+			
+			if(WaitStrategies.isExpired(deadline))
+				return false;
+			
+			Thread.onSpinWait();
+		}
+		
+		return true;
+	}
+	
+	@Override
+	public void signalAll() {}
+}
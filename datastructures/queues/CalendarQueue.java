@@ -0,0 +1,414 @@
+package datastructures.queues;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Calendar queue implementation, a priority queue for events whose
+ * {@code double} timestamps cluster near the current time.
+ * <p>Timestamps are laid out like days on a calendar: bucket i holds the
+ * events of every day (interval of {@code bucketWidth}) whose number is
+ * i modulo the number of buckets, each bucket sorted by timestamp.
+ * Dequeuing walks the buckets from the day of the last dequeued event on,
+ * taking the first event that falls into the current year, so with a
+ * well-chosen width both enqueue and dequeue take O(1) on average. If a
+ * whole year passes without any event, the earliest one is found by a
+ * direct search over the buckets.</p>
+ * <p>The number of buckets doubles once there are twice as many events
+ * as buckets and halves once there are half as many. On every resize
+ * the bucket width is re-estimated as three times the average gap
+ * between the earliest events (ignoring unusually large gaps), and every
+ * event is redistributed. Events with equal timestamps are dequeued in
+ * the order they were enqueued.</p>
+ * <p>If the corresponding constructor argument regarding to bucket width
+ * is left empty, {@code DEFAULT_BUCKET_WIDTH} (which is 1.0) will be
+ * assigned for initial bucket width instead.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of events to be stored in the queue
+ */
+public class CalendarQueue<T> {
+	private static final double DEFAULT_BUCKET_WIDTH = 1.0;
+	private static final int MIN_BUCKET_COUNT = 2;
+	private static final int SAMPLE_SIZE = 25;
+
+	private Entry<T>[] buckets;
+	private int[] bucketSizes;
+	private int mask;
+	private double width;
+	private int size;
+
+	//Scan position: bucket and number of the day it's scanned for
+	private int lastBucket;
+	private double lastDay;
+	private double lastPriority;
+
+	private boolean isResizeEnabled;
+	private long resizeCount;
+	private long directSearchCount;
+
+	/**
+	 * Initialize a calendar queue with default initial bucket width
+	 * ({@code DEFAULT_BUCKET_WIDTH}) which is 1.0.
+	 */
+	public CalendarQueue() {
+		this(DEFAULT_BUCKET_WIDTH);
+	}
+
+	/**
+	 * Initialize a calendar queue with given initial bucket width.
+	 * <p>Throws {@code IllegalArgumentException} if bucket width is
+	 * not a positive finite number.</p>
+	 * @param bucketWidth initial length of time covered by a bucket
+	 */
+	public CalendarQueue(double bucketWidth) {
+		if(!(bucketWidth > 0) || Double.isInfinite(bucketWidth))
+			throw new IllegalArgumentException("Bucket width must be a positive finite number");
+
+		this.width = bucketWidth;
+		this.size = 0;
+		this.lastPriority = 0;
+		this.isResizeEnabled = true;
+		this.resizeCount = 0;
+		this.directSearchCount = 0;
+
+		allocate(MIN_BUCKET_COUNT);
+	}
+
+	/**
+	 * Returns size of the queue. (number of events in the queue)
+	 * @return size of the queue/number of events
+	 */
+	public int size() { return size; }
+
+	/**
+	 * Returns a boolean value indicating emptiness of the queue.
+	 * @return true if queue is empty, false otherwise
+	 */
+	public boolean isEmpty() { return size == 0; }
+
+	/**
+	 * Insert an event to the queue with given timestamp as it's priority.
+	 * <p>Time complexity of this operation is O(1) on average.</p>
+	 * <p>Throws {@code IllegalArgumentException} if timestamp is
+	 * not a finite number.</p>
+	 * @param priority timestamp of the event
+	 * @param data event to be enqueued
+	 */
+	public void enqueue(double priority, T data) {
+		if(Double.isNaN(priority) || Double.isInfinite(priority))
+			throw new IllegalArgumentException("Priority must be a finite number");
+
+		insert(new Entry<T>(priority, data), false);
+		++size;
+
+		if(isResizeEnabled && size > 2 * buckets.length)
+			resize(buckets.length * 2);
+	}
+
+	/**
+	 * Remove the event with the earliest timestamp from the queue.
+	 * <p>Time complexity of this operation is O(1) on average.</p>
+	 * <p>Throws {@code NoSuchElementException} if queue is empty.</p>
+	 * @return event with the earliest timestamp
+	 */
+	public T dequeue() {
+		int bucket = findNext();
+		Entry<T> entry = buckets[bucket];
+
+		buckets[bucket] = entry.next;
+		--bucketSizes[bucket];
+		--size;
+		lastPriority = entry.priority;
+
+		if(isResizeEnabled && size < buckets.length / 2 && buckets.length > MIN_BUCKET_COUNT)
+			resize(buckets.length / 2);
+
+		return entry.data;
+	}
+
+	/**
+	 * Return the event with the earliest timestamp.
+	 * <p>Time complexity of this operation is O(1) on average.</p>
+	 * <p>Throws {@code NoSuchElementException} if queue is empty.</p>
+	 * @return event with the earliest timestamp
+	 */
+	public T peek() {
+		return buckets[findNext()].data;
+	}
+
+	/**
+	 * Return the earliest timestamp in the queue.
+	 * <p>Time complexity of this operation is O(1) on average.</p>
+	 * <p>Throws {@code NoSuchElementException} if queue is empty.</p>
+	 * @return the earliest timestamp
+	 */
+	public double peekPriority() {
+		return buckets[findNext()].priority;
+	}
+
+	/**
+	 * Delete all events and clear the queue. Statistics are kept.
+	 */
+	public void clear() {
+		allocate(MIN_BUCKET_COUNT);
+		size = 0;
+	}
+
+	/**
+	 * Returns current number of buckets.
+	 * @return number of buckets
+	 */
+	public int bucketCount() { return buckets.length; }
+
+	/**
+	 * Returns current length of time covered by a bucket.
+	 * @return bucket width
+	 */
+	public double bucketWidth() { return width; }
+
+	/**
+	 * Returns number of times the buckets have been resized.
+	 * @return number of resizes
+	 */
+	public long resizeCount() { return resizeCount; }
+
+	/**
+	 * Returns number of times a whole year has been scanned without
+	 * finding an event, falling back to a direct search. A high count
+	 * relative to the number of dequeues means the buckets are too narrow.
+	 * @return number of direct searches
+	 */
+	public long directSearchCount() { return directSearchCount; }
+
+	/**
+	 * Returns number of buckets holding at least one event.
+	 * <p>Time complexity of this operation is O(b) for b buckets.</p>
+	 * @return number of non-empty buckets
+	 */
+	public int nonEmptyBucketCount() {
+		int count = 0;
+
+		for(int bucketSize : bucketSizes) {
+			if(bucketSize > 0)
+				++count;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Returns number of events in the fullest bucket. A high number
+	 * means the buckets are too wide.
+	 * <p>Time complexity of this operation is O(b) for b buckets.</p>
+	 * @return size of the fullest bucket
+	 */
+	public int maxBucketSize() {
+		int max = 0;
+
+		for(int bucketSize : bucketSizes)
+			max = Math.max(max, bucketSize);
+
+		return max;
+	}
+
+	/**
+	 * Returns a string representation of the queue in bucket order,
+	 * in which events are spaced with an empty whitespace character.
+	 * @return string representation of the queue
+	 */
+	@Override
+	public String toString() {
+		StringBuilder queueString = new StringBuilder();
+
+		for(Entry<T> bucket : buckets) {
+			for(Entry<T> entry = bucket; entry != null; entry = entry.next) {
+				queueString.append(entry.data);
+				queueString.append(' ');
+			}
+		}
+
+		return queueString.toString();
+	}
+
+	//Moves the scan position to the bucket holding the earliest event
+	//and returns that bucket
+	private int findNext() {
+		if(size == 0)
+			throw new NoSuchElementException("Queue is empty");
+
+		int bucket = lastBucket;
+		double day = lastDay;
+
+		//Days are compared by number, computed exactly like in bucketOf,
+		//so an event is never seen in a different day than its bucket's
+		for(int i=0; i < buckets.length; ++i) {
+			Entry<T> first = buckets[bucket];
+
+			if(first != null && dayOf(first.priority) <= day) {
+				lastBucket = bucket;
+				lastDay = day;
+				return bucket;
+			}
+
+			bucket = (bucket + 1) & mask;
+			++day;
+		}
+
+		//Nothing in this year, jump to the earliest event directly
+		++directSearchCount;
+		int minBucket = -1;
+
+		for(int i=0; i < buckets.length; ++i) {
+			if(buckets[i] != null && (minBucket == -1 || buckets[i].priority < buckets[minBucket].priority))
+				minBucket = i;
+		}
+
+		moveScanTo(buckets[minBucket].priority);
+		return minBucket;
+	}
+
+	private void insert(Entry<T> entry, boolean isBeforeEqual) {
+		//An event before the scanned day would be skipped by the scan
+		if(dayOf(entry.priority) < lastDay) {
+			moveScanTo(entry.priority);
+			lastPriority = Math.min(lastPriority, entry.priority);
+		}
+
+		int bucket = bucketOf(entry.priority);
+		Entry<T> first = buckets[bucket];
+
+		//Keep the bucket sorted, after events with equal timestamps
+		//unless the event is put back in front of them
+		if(first == null || isBefore(entry, first, isBeforeEqual)) {
+			entry.next = first;
+			buckets[bucket] = entry;
+		}
+		else {
+			Entry<T> previous = first;
+
+			while(previous.next != null && !isBefore(entry, previous.next, isBeforeEqual))
+				previous = previous.next;
+
+			entry.next = previous.next;
+			previous.next = entry;
+		}
+
+		++bucketSizes[bucket];
+	}
+
+	private void resize(int bucketCount) {
+		double newWidth = estimateWidth();
+		Entry<T>[] oldBuckets = buckets;
+
+		width = newWidth;
+		allocate(bucketCount);
+		moveScanTo(lastPriority);
+
+		for(Entry<T> bucket : oldBuckets) {
+			for(Entry<T> entry = bucket; entry != null; ) {
+				Entry<T> next = entry.next;
+				entry.next = null;
+				insert(entry, false);
+				entry = next;
+			}
+		}
+
+		++resizeCount;
+	}
+
+	private double estimateWidth() {
+		int sampleSize = Math.min(size, SAMPLE_SIZE);
+
+		if(sampleSize < 2)
+			return width;
+
+		//Dequeue the earliest events and put them back, keeping
+		//the scan position where it was
+		int savedBucket = lastBucket;
+		double savedDay = lastDay;
+		double savedPriority = lastPriority;
+
+		isResizeEnabled = false;
+		@SuppressWarnings("unchecked")
+		Entry<T>[] sample = (Entry<T>[]) new Entry<?>[sampleSize];
+
+		for(int i=0; i < sampleSize; ++i) {
+			int bucket = findNext();
+			sample[i] = buckets[bucket];
+			buckets[bucket] = sample[i].next;
+			--bucketSizes[bucket];
+			--size;
+		}
+
+		double averageGap = (sample[sampleSize - 1].priority - sample[0].priority) / (sampleSize - 1);
+
+		//Average again without the gaps much larger than the average,
+		//which are separate clusters of events
+		double gapSum = 0;
+		int gapCount = 0;
+
+		for(int i=1; i < sampleSize; ++i) {
+			double gap = sample[i].priority - sample[i - 1].priority;
+
+			if(gap <= 2 * averageGap) {
+				gapSum += gap;
+				++gapCount;
+			}
+		}
+
+		for(int i = sampleSize - 1; i >= 0; --i) {
+			sample[i].next = null;
+			insert(sample[i], true);
+			++size;
+		}
+
+		isResizeEnabled = true;
+		lastBucket = savedBucket;
+		lastDay = savedDay;
+		lastPriority = savedPriority;
+
+		double newWidth = gapCount == 0 ? 0 : 3 * gapSum / gapCount;
+
+		//Every sampled event has the same timestamp
+		if(!(newWidth > 0) || Double.isInfinite(newWidth))
+			return width;
+
+		return newWidth;
+	}
+
+	private static boolean isBefore(Entry<?> entry, Entry<?> other, boolean isBeforeEqual) {
+		return isBeforeEqual ? entry.priority <= other.priority : entry.priority < other.priority;
+	}
+
+	private void moveScanTo(double priority) {
+		lastDay = dayOf(priority);
+		lastBucket = (int) ((long) lastDay & mask);
+	}
+
+	private double dayOf(double priority) {
+		return Math.floor(priority / width);
+	}
+
+	private int bucketOf(double priority) {
+		return (int) ((long) dayOf(priority) & mask);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void allocate(int bucketCount) {
+		buckets = (Entry<T>[]) new Entry<?>[bucketCount];
+		bucketSizes = new int[bucketCount];
+		mask = bucketCount - 1;
+		moveScanTo(lastPriority);
+	}
+
+	private static final class Entry<T> {
+		private final double priority;
+		private final T data;
+		private Entry<T> next;
+
+		Entry(double priority, T data) {
+			this.priority = priority;
+			this.data = data;
+		}
+	}
+}
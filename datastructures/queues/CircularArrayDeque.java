@@ -1,14 +1,20 @@
 package datastructures.queues;
 
 import java.nio.BufferOverflowException;
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 
 /**
- * Circular double ended queue implementation using fixed-size array.
+ * Circular double ended queue implementation using an array.
  * <p>An element can be enqueued and dequeued from both ends of a deque. 
  * instead of a regular queue. {@code CircularArrayDeque<T>} will use all 
  * empty space of array whenever it can by enqueuing new elements at both 
  * sides of the array if there's empty space.</p>
+ * <p>Length of the underlying array is always a power of two, so indices
+ * wrap around with a bitmask instead of a branch. A bounded deque still
+ * refuses elements beyond its given capacity. A growable deque doubles
+ * its array once it gets full, unwrapping the ring into the new array
+ * with two block copies.</p>
  * </p>If the corresponding constructor argument regarding to 
  * capacity is left empty, {@code DEFAULT_CAPACITY} (which is 10)
  * will be assigned for capacity instead.</p>
@@ -18,12 +24,15 @@ import java.util.NoSuchElementException;
  */
 public class CircularArrayDeque<T> {
 	private static final int DEFAULT_CAPACITY = 10;
+	private static final int MAXIMUM_CAPACITY = 1 << 30;
 	
-	private final int capacity;
+	private final boolean growable;
+	private int capacity;
+	private int mask;
 	private int rearIndex;
 	private int frontIndex;
+	private int size;
 	private Object[] data;
-	private boolean isEmpty, isFull;
 	
 	/**
 	 * Initialize queue with default capacity ({@code DEFAULT_CAPACITY})
@@ -38,12 +47,31 @@ public class CircularArrayDeque<T> {
 	 * @param capacity capacity of the queue.
 	 */
 	public CircularArrayDeque(int capacity) {
-		this.capacity = capacity;
-		this.data = new Object[capacity];
+		this(capacity, false);
+	}
+	
+	/**
+	 * Initialize queue with given capacity, which is the initial
+	 * capacity if the queue is growable.
+	 * <p>Throws {@code IllegalArgumentException} if capacity is
+	 * not in range [1, 2^30].</p>
+	 * @param capacity capacity of the queue.
+	 * @param growable whether the queue grows instead of
+	 * throwing when it gets full
+	 */
+	public CircularArrayDeque(int capacity, boolean growable) {
+		if(capacity <= 0 || capacity > MAXIMUM_CAPACITY)
+			throw new IllegalArgumentException("Capacity must be in range [1, 2^30]");
+		
+		int length = 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1));
+		
+		this.growable = growable;
+		this.capacity = growable ? length : capacity;
+		this.data = new Object[length];
+		this.mask = length - 1;
 		this.rearIndex = 0;
 		this.frontIndex = 0;
-		this.isEmpty = true;
-		this.isFull = false;
+		this.size = 0;
 	}
 	
 	/**
@@ -55,12 +83,8 @@ public class CircularArrayDeque<T> {
 	public String toString() {
 		StringBuilder queueString = new StringBuilder();
 		
-		for(int i=0; i < size(); ++i) {
-			if(i + frontIndex < capacity)
-				queueString.append(data[frontIndex+i]);
-			else
-				queueString.append(data[i-(capacity-frontIndex)]);
-			
+		for(int i=0; i < size; ++i) {
+			queueString.append(data[(frontIndex + i) & mask]);
 			queueString.append(' ');
 		}
 		
@@ -71,51 +95,43 @@ public class CircularArrayDeque<T> {
 	 * Returns a boolean value indicating emptiness of the queue.
 	 * @return true if queue is empty, false otherwise
 	 */
-	public boolean isEmpty() { return isEmpty; }
+	public boolean isEmpty() { return size == 0; }
 	
 	/**
 	 * Returns a boolean value indicating fullness of the queue.
+	 * <p>A growable queue is never full.</p>
 	 * @return true if queue is full, false otherwise
 	 */
-	public boolean isFull() { return isFull; }
+	public boolean isFull() { return !growable && size == capacity; }
 	
 	/**
 	 * Returns size of the queue. (number of elements in the queue)
 	 * @return size of the queue/number of elements
 	 */
-	public int size() {
-		if(frontIndex >= rearIndex)
-			return capacity - (frontIndex - rearIndex);
-		else
-			return rearIndex - frontIndex;
-	}
+	public int size() { return size; }
+	
+	/**
+	 * Returns capacity of the queue, which is the current capacity
+	 * if the queue is growable.
+	 * @return capacity of the queue
+	 */
+	public int capacity() { return capacity; }
 	
 	/**
 	 * Insert an element at the rear of the queue.
-	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Time complexity of this operation is O(1), amortized
+	 * O(1) if the queue is growable.</p>
+	 * <p>Throws {@code BufferOverflowException} while inserting
+	 * an element to a full queue.</p>
 	 * @param data data to be enqueued
 	 */
 	public void enqueueRear(T data) {
-		//Is full?
-		if(isFull)
-			throw new BufferOverflowException();
+		if(size == capacity)
+			ensureCapacity(size + 1);
 		
-		//Then set the data
 		this.data[rearIndex] = data;
-		
-		//And move rearIndex to the adjacent position
-		if(rearIndex + 1 == capacity) {
-			rearIndex = 0;
-		}
-		else {
-			++rearIndex;
-		}
-		
-		//Emptiness/fullness update
-		isEmpty = false;
-		
-		if(rearIndex == frontIndex)
-			isFull = true;
+		rearIndex = (rearIndex + 1) & mask;
+		++size;
 	}
 	
 	/**
@@ -128,73 +144,157 @@ public class CircularArrayDeque<T> {
 		//Get data (also checks for emptiness)
 		T data = peekFront();
 		
-		//And move frontIndex to the adjacent position
-		if(frontIndex + 1 == capacity) {
-			frontIndex = 0;
-		}
-		else {
-			++frontIndex;
-		}
-		
-		//Emptiness/fullness update
-		isFull = false;
-		
-		if(rearIndex == frontIndex)
-			isEmpty = true;
+		this.data[frontIndex] = null;
+		frontIndex = (frontIndex + 1) & mask;
+		--size;
 		
 		return data;
 	}
 	
 	/**
 	 * Insert an element at the front of the queue.
-	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Time complexity of this operation is O(1), amortized
+	 * O(1) if the queue is growable.</p>
+	 * <p>Throws {@code BufferOverflowException} while inserting
+	 * an element to a full queue.</p>
 	 * @param data data to be enqueued
 	 */
 	public void enqueueFront(T data) {		
-		//Is full?
-		if(isFull)
-			throw new BufferOverflowException();
-		
-		if(frontIndex - 1  < 0) {
-			frontIndex = capacity - 1;
-		}
-		else {
-			--frontIndex;
-		}
+		if(size == capacity)
+			ensureCapacity(size + 1);
 		
+		frontIndex = (frontIndex - 1) & mask;
 		this.data[frontIndex] = data;
-		
-		isEmpty = false;
-		
-		if(rearIndex == frontIndex)
-			isFull = true;
+		++size;
 	}
 	
 	/**
 	 * Remove an element from rear of the queue.
 	 * <p>Time complexity of this operation is O(1).</p> 
 	 * <p>Throws {@code NoSuchElementException} if queue is empty.</p>
-	 * @return Element at the front of the queue
+	 * @return Element at the rear of the queue
 	 */
 	public T dequeueRear() {
-		if(isEmpty) 
-			throw new NoSuchElementException("Queue is empty");
+		//Get data (also checks for emptiness)
+		T data = peekRear();
 		
-		if(rearIndex - 1 < 0) {
-			rearIndex = capacity -1;
-		}
-		else {
-			--rearIndex;
-		}
+		rearIndex = (rearIndex - 1) & mask;
+		this.data[rearIndex] = null;
+		--size;
 		
-		T data = peekRear();
+		return data;
+	}
+	
+	/**
+	 * Insert elements of the given array at the rear of the queue,
+	 * so that the last element of the array becomes the rearmost one.
+	 * <p>Elements are copied in at most two block copies. Time complexity
+	 * of this operation is O(k) for k elements, plus O(n) if the queue
+	 * has to grow.</p>
+	 * <p>Throws {@code BufferOverflowException} if the elements don't
+	 * fit into a bounded queue, in which case nothing is inserted.</p>
+	 * @param elements elements to be enqueued
+	 */
+	public void addAllLast(T[] elements) {
+		int count = elements.length;
 		
-		isFull = false;
+		//size + count could overflow int
+		if(count > MAXIMUM_CAPACITY - size)
+			throw new BufferOverflowException();
 		
-		if(rearIndex == frontIndex)
-			isEmpty = true;
+		ensureCapacity(size + count);
 		
-		return data;
+		int firstRun = Math.min(count, data.length - rearIndex);
+		System.arraycopy(elements, 0, data, rearIndex, firstRun);
+		System.arraycopy(elements, firstRun, data, 0, count - firstRun);
+		
+		rearIndex = (rearIndex + count) & mask;
+		size += count;
+	}
+	
+	/**
+	 * Insert elements of the given array at the front of the queue,
+	 * so that the first element of the array becomes the frontmost one.
+	 * <p>Elements are copied in at most two block copies. Time complexity
+	 * of this operation is O(k) for k elements, plus O(n) if the queue
+	 * has to grow.</p>
+	 * <p>Throws {@code BufferOverflowException} if the elements don't
+	 * fit into a bounded queue, in which case nothing is inserted.</p>
+	 * @param elements elements to be enqueued
+	 */
+	public void addAllFirst(T[] elements) {
+		int count = elements.length;
+		
+		//size + count could overflow int
+		if(count > MAXIMUM_CAPACITY - size)
+			throw new BufferOverflowException();
+		
+		ensureCapacity(size + count);
+		
+		int newFrontIndex = (frontIndex - count) & mask;
+		int firstRun = Math.min(count, data.length - newFrontIndex);
+		System.arraycopy(elements, 0, data, newFrontIndex, firstRun);
+		System.arraycopy(elements, firstRun, data, 0, count - firstRun);
+		
+		frontIndex = newFrontIndex;
+		size += count;
+	}
+	
+	/**
+	 * Insert an element at the rear of the queue if there's space.
+	 * <p>Unlike {@code enqueueRear}, doesn't throw when the queue is full,
+	 * so that callers polling for space don't pay for exceptions.</p>
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * @param data data to be enqueued
+	 * @return true if the element is enqueued, false if queue is full
+	 */
+	public boolean offerRear(T data) {
+		if(isFull())
+			return false;
+		
+		enqueueRear(data);
+		return true;
+	}
+	
+	/**
+	 * Insert an element at the front of the queue if there's space.
+	 * <p>Unlike {@code enqueueFront}, doesn't throw when the queue is full.</p>
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * @param data data to be enqueued
+	 * @return true if the element is enqueued, false if queue is full
+	 */
+	public boolean offerFront(T data) {
+		if(isFull())
+			return false;
+		
+		enqueueFront(data);
+		return true;
+	}
+	
+	/**
+	 * Remove an element from front of the queue if there's any.
+	 * <p>Unlike {@code dequeueFront}, doesn't throw when the queue is empty.</p>
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * @return Element at the front of the queue, null if queue is empty
+	 */
+	public T pollFront() {
+		if(isEmpty())
+			return null;
+		
+		return dequeueFront();
+	}
+	
+	/**
+	 * Remove an element from rear of the queue if there's any.
+	 * <p>Unlike {@code dequeueRear}, doesn't throw when the queue is empty.</p>
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * @return Element at the rear of the queue, null if queue is empty
+	 */
+	public T pollRear() {
+		if(isEmpty())
+			return null;
+		
+		return dequeueRear();
 	}
 	
 	/**
@@ -204,7 +304,7 @@ public class CircularArrayDeque<T> {
 	 * @return Element at the front of the queue
 	 */
 	public T peekFront() {
-		if(isEmpty)
+		if(size == 0)
 			throw new NoSuchElementException("Queue is empty");
 		
 		@SuppressWarnings("unchecked")
@@ -216,14 +316,15 @@ public class CircularArrayDeque<T> {
 	 * Return the rearmost element.
 	 * <p>Time complexity of this operation is O(1).</p> 
 	 * <p>Throws {@code NoSuchElementException} if queue is empty.</p>
-	 * @return Element at the front of the queue
+	 * @return Element at the rear of the queue
 	 */
 	public T peekRear() {
-		if(isEmpty)
+		if(size == 0)
 			throw new NoSuchElementException("Queue is empty");
 		
+		//rearIndex points to the slot after the rearmost element
 		@SuppressWarnings("unchecked")
-		T data = (T) this.data[rearIndex];
+		T data = (T) this.data[(rearIndex - 1) & mask];
 		return data;
 	}
 	
@@ -231,9 +332,35 @@ public class CircularArrayDeque<T> {
      * Delete all elements and clear the queue.
      */
 	public void clear() {
+		Arrays.fill(data, null);
 		rearIndex = 0;
 		frontIndex = 0;
-		isEmpty = true;
-		isFull = false;
+		size = 0;
+	}
+	
+	private void ensureCapacity(int required) {
+		if(required <= capacity)
+			return;
+		
+		if(!growable || required > MAXIMUM_CAPACITY)
+			throw new BufferOverflowException();
+		
+		int length = data.length;
+		
+		while(length < required)
+			length <<= 1;
+		
+		//Unwrap the ring: front part up to the end of the array
+		//first, then the part wrapped around to the beginning
+		Object[] newData = new Object[length];
+		int firstRun = Math.min(size, data.length - frontIndex);
+		System.arraycopy(data, frontIndex, newData, 0, firstRun);
+		System.arraycopy(data, 0, newData, firstRun, size - firstRun);
+		
+		data = newData;
+		mask = length - 1;
+		capacity = length;
+		frontIndex = 0;
+		rearIndex = size & mask;
 	}
 }
@@ -117,6 +117,37 @@ public class CircularArrayQueue<T> {
 			isFull = true;
 	}
 	
+	/**
+	 * Insert an element at the rear of the queue if there's space.
+	 * <p>Unlike {@code enqueue}, doesn't throw when the queue is full,
+	 * so that callers polling for space don't pay for exceptions.
+	 * Blocking operations are provided by the thread-safe
+	 * {@code SPSCArrayQueue<T>} and {@code MPMCArrayQueue<T>}.</p>
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * @param data data to be enqueued
+	 * @return true if the element is enqueued, false if queue is full
+	 */
+	public boolean offer(T data) {
+		if(isFull)
+			return false;
+		
+		enqueue(data);
+		return true;
+	}
+	
+	/**
+	 * Remove an element from front of the queue if there's any.
+	 * <p>Unlike {@code dequeue}, doesn't throw when the queue is empty.</p>
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * @return Element at the front of the queue, null if queue is empty
+	 */
+	public T poll() {
+		if(isEmpty)
+			return null;
+		
+		return dequeue();
+	}
+	
 	/**
 	 * Remove an element from front of the queue.
 	 * <p>Time complexity of this operation is O(1).</p> 
@@ -0,0 +1,190 @@
+package datastructures.queues;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+/**
+ * Priority queue implementation using a binary max heap ordered by a
+ * {@code Comparator<T>}.
+ * <p>Unlike {@code PriorityQueue<T>}, elements can be of any type and
+ * are compared exactly by the given comparator instead of through
+ * {@code doubleValue()}. The element the comparator considers the
+ * greatest has the highest priority; pass a reversed comparator to
+ * dequeue the smallest element first.</p>
+ * <p>The heap is stored in an array that doubles once it gets full.
+ * If the corresponding constructor argument regarding to initial
+ * capacity is left empty, {@code DEFAULT_INIT_CAPACITY} (which is 10)
+ * will be assigned for initial capacity instead.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of elements to be stored in the queue
+ */
+public class ComparatorPriorityQueue<T> {
+	private static final int DEFAULT_INIT_CAPACITY = 10;
+
+	private final Comparator<? super T> comparator;
+	private Object[] data;
+	private int size;
+
+	/**
+	 * Initialize a priority queue ordered by given comparator with
+	 * default initial capacity ({@code DEFAULT_INIT_CAPACITY}) which is 10.
+	 * @param comparator comparator to order elements with
+	 */
+	public ComparatorPriorityQueue(Comparator<? super T> comparator) {
+		this(comparator, DEFAULT_INIT_CAPACITY);
+	}
+
+	/**
+	 * Initialize a priority queue ordered by given comparator with
+	 * given initial capacity.
+	 * @param comparator comparator to order elements with
+	 * @param initialCapacity initial capacity of the queue
+	 */
+	public ComparatorPriorityQueue(Comparator<? super T> comparator, int initialCapacity) {
+		this.comparator = comparator;
+		this.data = new Object[Math.max(initialCapacity, 1)];
+		this.size = 0;
+	}
+
+	/**
+	 * Insert an element to the queue considering it's priority.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * @param data data to be enqueued
+	 */
+	public void enqueue(T data) {
+		if(size == this.data.length)
+			extend();
+
+		siftUp(size, data);
+		++size;
+	}
+
+	/**
+	 * Remove an element from the queue with the highest priority.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * <p>Throws {@code NoSuchElementException} if queue is empty.</p>
+	 * @return Element with highest priority
+	 */
+	public T dequeue() {
+		T top = peek();
+
+		--size;
+		@SuppressWarnings("unchecked")
+		T last = (T) data[size];
+		data[size] = null;
+
+		if(size > 0)
+			siftDown(0, last);
+
+		return top;
+	}
+
+	/**
+	 * Return the element with highest priority.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if queue is empty.</p>
+	 * @return Element with highest priority/at the front.
+	 */
+	public T peek() {
+		if(size == 0)
+			throw new NoSuchElementException("Queue is empty");
+
+		@SuppressWarnings("unchecked")
+		T top = (T) data[0];
+		return top;
+	}
+
+	/**
+	 * Returns size of the queue. (number of elements in the queue)
+	 * @return size of the queue/number of elements
+	 */
+	public int size() { return size; }
+
+	/**
+	 * Returns a boolean value indicating emptiness of the queue.
+	 * @return true if queue is empty, false otherwise
+	 */
+	public boolean isEmpty() { return size == 0; }
+
+	/**
+	 * Delete all elements and clear the queue.
+	 */
+	public void clear() {
+		for(int i=0; i < size; ++i)
+			data[i] = null;
+
+		size = 0;
+	}
+
+	/**
+	 * Returns a string representation of the queue in heap order,
+	 * in which elements are spaced with an empty whitespace character.
+	 * @return string representation of the queue
+	 */
+	@Override
+	public String toString() {
+		StringBuilder queueString = new StringBuilder();
+
+		for(int i=0; i < size; ++i) {
+			queueString.append(data[i]);
+			queueString.append(' ');
+		}
+
+		return queueString.toString();
+	}
+
+	//Moves a hole up from index until data fits, instead of swapping
+	private void siftUp(int index, T data) {
+		while(index > 0) {
+			int parentIndex = (index - 1) >>> 1;
+
+			@SuppressWarnings("unchecked")
+			T parent = (T) this.data[parentIndex];
+
+			if(comparator.compare(data, parent) <= 0)
+				break;
+
+			this.data[index] = parent;
+			index = parentIndex;
+		}
+
+		this.data[index] = data;
+	}
+
+	private void siftDown(int index, T data) {
+		int half = size >>> 1;
+
+		while(index < half) {
+			int childIndex = 2*index + 1;
+			int rightChildIndex = childIndex + 1;
+
+			@SuppressWarnings("unchecked")
+			T child = (T) this.data[childIndex];
+
+			if(rightChildIndex < size) {
+				@SuppressWarnings("unchecked")
+				T rightChild = (T) this.data[rightChildIndex];
+
+				if(comparator.compare(rightChild, child) > 0) {
+					childIndex = rightChildIndex;
+					child = rightChild;
+				}
+			}
+
+			if(comparator.compare(data, child) >= 0)
+				break;
+
+			this.data[index] = child;
+			index = childIndex;
+		}
+
+		this.data[index] = data;
+	}
+
+	private void extend() {
+		Object[] newData = new Object[data.length * 2];
+		System.arraycopy(data, 0, newData, 0, size);
+		data = newData;
+	}
+}
@@ -0,0 +1,173 @@
+package datastructures.queues;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Priority queue implementation using a binary max heap of {@code long}
+ * keys, each paired with a value.
+ * <p>Keys and values are stored in parallel arrays, so keys are never
+ * boxed and are compared with plain {@code long} comparisons, without
+ * {@code doubleValue()} conversions (which lose precision above 2^53)
+ * or comparator calls. The value with the greatest key has the highest
+ * priority.</p>
+ * <p>Arrays double once they get full. If the corresponding constructor
+ * argument regarding to initial capacity is left empty,
+ * {@code DEFAULT_INIT_CAPACITY} (which is 10) will be assigned for
+ * initial capacity instead.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <V> type of values to be stored in the queue
+ */
+public class LongKeyPriorityQueue<V> {
+	private static final int DEFAULT_INIT_CAPACITY = 10;
+	
+	private long[] keys;
+	private Object[] values;
+	private int size;
+	
+	/**
+	 * Initialize a priority queue with default initial capacity
+	 * ({@code DEFAULT_INIT_CAPACITY}) which is 10.
+	 */
+	public LongKeyPriorityQueue() {
+		this(DEFAULT_INIT_CAPACITY);
+	}
+	
+	/**
+	 * Initialize a priority queue with given initial capacity.
+	 * @param initialCapacity initial capacity of the queue
+	 */
+	public LongKeyPriorityQueue(int initialCapacity) {
+		int capacity = Math.max(initialCapacity, 1);
+		this.keys = new long[capacity];
+		this.values = new Object[capacity];
+		this.size = 0;
+	}
+	
+	/**
+	 * Insert a value to the queue with given key as it's priority.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * @param key priority of the value
+	 * @param value value to be enqueued
+	 */
+	public void enqueue(long key, V value) {
+		if(size == keys.length)
+			extend();
+		
+		//Move a hole up until the key fits
+		int index = size++;
+		
+		while(index > 0) {
+			int parentIndex = (index - 1) >>> 1;
+			
+			if(key <= keys[parentIndex])
+				break;
+			
+			keys[index] = keys[parentIndex];
+			values[index] = values[parentIndex];
+			index = parentIndex;
+		}
+		
+		keys[index] = key;
+		values[index] = value;
+	}
+	
+	/**
+	 * Remove the value with the highest priority from the queue.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * <p>Throws {@code NoSuchElementException} if queue is empty.</p>
+	 * @return value with highest priority
+	 */
+	public V dequeue() {
+		V top = peek();
+		
+		--size;
+		long key = keys[size];
+		Object value = values[size];
+		values[size] = null;
+		
+		//Move a hole down from the root until the last entry fits
+		int index = 0;
+		int half = size >>> 1;
+		
+		while(index < half) {
+			int childIndex = 2*index + 1;
+			
+			if(childIndex + 1 < size && keys[childIndex + 1] > keys[childIndex])
+				++childIndex;
+			
+			if(key >= keys[childIndex])
+				break;
+			
+			keys[index] = keys[childIndex];
+			values[index] = values[childIndex];
+			index = childIndex;
+		}
+		
+		if(size > 0) {
+			keys[index] = key;
+			values[index] = value;
+		}
+		
+		return top;
+	}
+	
+	/**
+	 * Return the value with highest priority.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if queue is empty.</p>
+	 * @return value with highest priority
+	 */
+	public V peek() {
+		if(size == 0)
+			throw new NoSuchElementException("Queue is empty");
+		
+		@SuppressWarnings("unchecked")
+		V top = (V) values[0];
+		return top;
+	}
+	
+	/**
+	 * Return the highest key.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if queue is empty.</p>
+	 * @return key of the value with highest priority
+	 */
+	public long peekKey() {
+		if(size == 0)
+			throw new NoSuchElementException("Queue is empty");
+		
+		return keys[0];
+	}
+	
+	/**
+	 * Returns size of the queue. (number of values in the queue)
+	 * @return size of the queue/number of values
+	 */
+	public int size() { return size; }
+	
+	/**
+	 * Returns a boolean value indicating emptiness of the queue.
+	 * @return true if queue is empty, false otherwise
+	 */
+	public boolean isEmpty() { return size == 0; }
+	
+	/**
+	 * Delete all values and clear the queue.
+	 */
+	public void clear() {
+		for(int i=0; i < size; ++i)
+			values[i] = null;
+		
+		size = 0;
+	}
+	
+	private void extend() {
+		long[] newKeys = new long[keys.length * 2];
+		Object[] newValues = new Object[values.length * 2];
+		System.arraycopy(keys, 0, newKeys, 0, size);
+		System.arraycopy(values, 0, newValues, 0, size);
+		keys = newKeys;
+		values = newValues;
+	}
+}
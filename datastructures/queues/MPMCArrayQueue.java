@@ -0,0 +1,436 @@
+package datastructures.queues;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Lock-free bounded multi-producer/multi-consumer queue implementation
+ * using fixed-size array. (Vyukov's queue)
+ * <p>Every slot carries a sequence number telling which lap it belongs
+ * to: a slot at position {@code p} is free for the producer of {@code p}
+ * when its sequence equals {@code p}, and holds an element for the
+ * consumer of {@code p} when its sequence equals {@code p + 1}.
+ * Producers and consumers claim positions by advancing {@code tail}
+ * and {@code head} with a CAS, so a full or empty queue is detected
+ * without ever blocking.</p>
+ * <p>{@code offerAll} first scans how many consecutive slots are free
+ * and claims all of them with a single CAS.</p>
+ * <p>Blocking {@code put/take} and timed {@code offer/poll} wait through
+ * a {@code WaitStrategy}.</p>
+ * <p>Capacity is rounded up to the next power of two so that indices
+ * wrap with a bitmask. If the corresponding constructor argument
+ * regarding to capacity is left empty, {@code DEFAULT_CAPACITY}
+ * (which is 1024) will be assigned for capacity instead, and if the
+ * wait strategy is left empty, {@code BackoffParkingWaitStrategy}
+ * is used.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of elements to be stored in the queue
+ */
+public class MPMCArrayQueue<T> extends MPMCArrayQueueHeadField<T> {
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	//Padding after the head field
+	long p20, p21, p22, p23, p24, p25, p26, p27;
+
+	private final WaitStrategy waitStrategy;
+	private final BooleanSupplier notFull = () -> size() < capacity();
+	private final BooleanSupplier notEmpty = () -> !isEmpty();
+
+	/**
+	 * Initialize queue with default capacity ({@code DEFAULT_CAPACITY})
+	 * which is 1024.
+	 */
+	public MPMCArrayQueue() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Initialize queue with given capacity, rounded up to the next
+	 * power of two.
+	 * <p>Throws {@code IllegalArgumentException} if capacity is
+	 * not in range [2, 2^30].</p>
+	 * @param capacity capacity of the queue.
+	 */
+	public MPMCArrayQueue(int capacity) {
+		this(capacity, new BackoffParkingWaitStrategy());
+	}
+
+	/**
+	 * Initialize queue with given capacity, rounded up to the next
+	 * power of two, and given wait strategy for blocking operations.
+	 * <p>Throws {@code IllegalArgumentException} if capacity is
+	 * not in range [2, 2^30].</p>
+	 * @param capacity capacity of the queue.
+	 * @param waitStrategy strategy to wait with in blocking operations
+	 */
+	public MPMCArrayQueue(int capacity, WaitStrategy waitStrategy) {
+		super(roundToPowerOfTwo(capacity));
+		this.waitStrategy = waitStrategy;
+	}
+
+	/**
+	 * Returns capacity of the queue.
+	 * @return capacity of the queue
+	 */
+	public int capacity() { return mask + 1; }
+
+	/**
+	 * Returns size of the queue. (number of elements in the queue)
+	 * <p>The value is only a snapshot while producers and consumers
+	 * are running.</p>
+	 * @return size of the queue/number of elements
+	 */
+	public int size() {
+		long head = this.head;
+		long tail = this.tail;
+		long size = tail - head;
+
+		if(size < 0)
+			return 0;
+
+		return (int) Math.min(size, mask + 1);
+	}
+
+	/**
+	 * Returns a boolean value indicating emptiness of the queue.
+	 * @return true if queue is empty, false otherwise
+	 */
+	public boolean isEmpty() { return size() == 0; }
+
+	/**
+	 * Insert an element at the rear of the queue if there's space.
+	 * <p>Time complexity of this operation is O(1) without contention.</p>
+	 * <p>Throws {@code NullPointerException} if data is null.</p>
+	 * @param data data to be enqueued
+	 * @return true if the element is enqueued, false if queue is full
+	 */
+	public boolean offer(T data) {
+		if(data == null)
+			throw new NullPointerException("Null elements are not allowed");
+
+		while(true) {
+			long position = this.tail;
+			int index = (int) position & mask;
+			long difference = sequenceAt(index) - position;
+
+			if(difference == 0) {
+				if(TAIL.compareAndSet(this, position, position + 1)) {
+					this.data[index] = data;
+					SEQUENCE.setRelease(sequences, index, position + 1);
+					waitStrategy.signalAll();
+					return true;
+				}
+			}
+			else if(difference < 0) {
+				//Slot still belongs to the previous lap
+				return false;
+			}
+
+			//Otherwise another producer took the position, try again
+		}
+	}
+
+	/**
+	 * Insert an element at the rear of the queue, waiting up to the
+	 * given time for space to become available.
+	 * <p>Throws {@code InterruptedException} if interrupted while
+	 * waiting.</p>
+	 * @param data data to be enqueued
+	 * @param timeout maximum time to wait
+	 * @param unit time unit of the timeout
+	 * @return true if the element is enqueued, false on timeout
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public boolean offer(T data, long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+		while(!offer(data)) {
+			if(!waitStrategy.await(notFull, deadline - System.nanoTime()))
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Insert an element at the rear of the queue, waiting for space
+	 * to become available if the queue is full.
+	 * <p>Throws {@code InterruptedException} if interrupted while
+	 * waiting.</p>
+	 * @param data data to be enqueued
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public void put(T data) throws InterruptedException {
+		while(!offer(data))
+			waitStrategy.await(notFull, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Insert an element at the rear of the queue.
+	 * <p>Time complexity of this operation is O(1) without contention.</p>
+	 * <p>Throws {@code BufferOverflowException} while inserting
+	 * an element to a full queue.</p>
+	 * @param data data to be enqueued
+	 */
+	public void enqueue(T data) {
+		if(!offer(data))
+			throw new BufferOverflowException();
+	}
+
+	/**
+	 * Insert elements of the given array at the rear of the queue,
+	 * in order, until all of them are enqueued or the queue gets full.
+	 * <p>Consecutive free slots are claimed with a single CAS.</p>
+	 * <p>Time complexity of this operation is O(n) without contention.</p>
+	 * <p>Throws {@code NullPointerException} if any of the elements
+	 * is null.</p>
+	 * @param elements elements to be enqueued
+	 * @return number of elements enqueued
+	 */
+	public int offerAll(T[] elements) {
+		for(T element : elements) {
+			if(element == null)
+				throw new NullPointerException("Null elements are not allowed");
+		}
+
+		int count = 0;
+
+		while(count < elements.length) {
+			long position = this.tail;
+			int wanted = Math.min(elements.length - count, mask + 1);
+			int claimable = 0;
+
+			while(claimable < wanted) {
+				long slotPosition = position + claimable;
+
+				if(sequenceAt((int) slotPosition & mask) != slotPosition)
+					break;
+
+				++claimable;
+			}
+
+			if(claimable == 0) {
+				if(sequenceAt((int) position & mask) < position)
+					return count;
+
+				continue;
+			}
+
+			if(TAIL.compareAndSet(this, position, position + claimable)) {
+				for(int i=0; i < claimable; ++i) {
+					int index = (int) (position + i) & mask;
+					this.data[index] = elements[count + i];
+					SEQUENCE.setRelease(sequences, index, position + i + 1);
+				}
+
+				waitStrategy.signalAll();
+				count += claimable;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Remove an element from front of the queue if there's any.
+	 * <p>Time complexity of this operation is O(1) without contention.</p>
+	 * @return Element at the front of the queue, null if queue is empty
+	 */
+	public T poll() {
+		while(true) {
+			long position = this.head;
+			int index = (int) position & mask;
+			long difference = sequenceAt(index) - (position + 1);
+
+			if(difference == 0) {
+				if(HEAD.compareAndSet(this, position, position + 1)) {
+					T data = take(index, position);
+					waitStrategy.signalAll();
+					return data;
+				}
+			}
+			else if(difference < 0) {
+				//Slot is not filled yet
+				return null;
+			}
+
+			//Otherwise another consumer took the position, try again
+		}
+	}
+
+	/**
+	 * Remove an element from front of the queue, waiting up to the
+	 * given time for an element to become available.
+	 * <p>Throws {@code InterruptedException} if interrupted while
+	 * waiting.</p>
+	 * @param timeout maximum time to wait
+	 * @param unit time unit of the timeout
+	 * @return Element at the front of the queue, null on timeout
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		T data;
+
+		while((data = poll()) == null) {
+			if(!waitStrategy.await(notEmpty, deadline - System.nanoTime()))
+				return null;
+		}
+
+		return data;
+	}
+
+	/**
+	 * Remove an element from front of the queue, waiting for an
+	 * element to become available if the queue is empty.
+	 * <p>Throws {@code InterruptedException} if interrupted while
+	 * waiting.</p>
+	 * @return Element at the front of the queue
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public T take() throws InterruptedException {
+		T data;
+
+		while((data = poll()) == null)
+			waitStrategy.await(notEmpty, Long.MAX_VALUE);
+
+		return data;
+	}
+
+	/**
+	 * Remove an element from front of the queue.
+	 * <p>Time complexity of this operation is O(1) without contention.</p>
+	 * <p>Throws {@code NoSuchElementException} if queue is empty.</p>
+	 * @return Element at the front of the queue
+	 */
+	public T dequeue() {
+		T data = poll();
+
+		if(data == null)
+			throw new NoSuchElementException("Queue is empty");
+
+		return data;
+	}
+
+	/**
+	 * Remove up to {@code limit} elements from front of the queue and
+	 * pass each of them to the given consumer, in order.
+	 * <p>Slots are claimed one at a time, and each is handed back to
+	 * producers before its element is passed to the consumer. So if the
+	 * consumer throws, every element after the failing one stays in the
+	 * queue.</p>
+	 * <p>Time complexity of this operation is O(limit) without
+	 * contention.</p>
+	 * @param consumer consumer to pass the elements to
+	 * @param limit maximum number of elements to remove
+	 * @return number of elements removed
+	 */
+	public int drainTo(Consumer<? super T> consumer, int limit) {
+		int count = 0;
+		T data;
+
+		//A claimed slot can't be given back to other consumers, so
+		//slots aren't claimed ahead of the consumer
+		while(count < limit && (data = poll()) != null) {
+			++count;
+			consumer.accept(data);
+		}
+
+		return count;
+	}
+
+	/**
+	 * Remove all elements that are visible at the moment from front
+	 * of the queue and pass each of them to the given consumer.
+	 * @param consumer consumer to pass the elements to
+	 * @return number of elements removed
+	 */
+	public int drainTo(Consumer<? super T> consumer) {
+		return drainTo(consumer, Integer.MAX_VALUE);
+	}
+
+	private T take(int index, long position) {
+		@SuppressWarnings("unchecked")
+		T data = (T) this.data[index];
+		this.data[index] = null;
+
+		//Mark the slot as free for the producer of the next lap
+		SEQUENCE.setRelease(sequences, index, position + mask + 1);
+		return data;
+	}
+
+	private long sequenceAt(int index) {
+		return (long) SEQUENCE.getAcquire(sequences, index);
+	}
+
+	private static int roundToPowerOfTwo(int capacity) {
+		if(capacity < 2 || capacity > (1 << 30))
+			throw new IllegalArgumentException("Capacity must be in range [2, 2^30]");
+
+		return 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1));
+	}
+}
+
+//Fields are split into a class hierarchy because the JVM is free to
+//reorder fields within a class, but lays out superclass fields first.
+
+abstract class MPMCArrayQueueColdFields<T> {
+	protected static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+
+	protected final int mask;
+	protected final Object[] data;
+	protected final long[] sequences;
+
+	MPMCArrayQueueColdFields(int capacity) {
+		this.mask = capacity - 1;
+		this.data = new Object[capacity];
+		this.sequences = new long[capacity];
+
+		for(int i=0; i < capacity; ++i)
+			this.sequences[i] = i;
+	}
+}
+
+abstract class MPMCArrayQueuePad0<T> extends MPMCArrayQueueColdFields<T> {
+	long p00, p01, p02, p03, p04, p05, p06, p07;
+
+	MPMCArrayQueuePad0(int capacity) { super(capacity); }
+}
+
+abstract class MPMCArrayQueueTailField<T> extends MPMCArrayQueuePad0<T> {
+	protected volatile long tail;
+
+	MPMCArrayQueueTailField(int capacity) { super(capacity); }
+}
+
+abstract class MPMCArrayQueuePad1<T> extends MPMCArrayQueueTailField<T> {
+	long p10, p11, p12, p13, p14, p15, p16, p17;
+
+	MPMCArrayQueuePad1(int capacity) { super(capacity); }
+}
+
+abstract class MPMCArrayQueueHeadField<T> extends MPMCArrayQueuePad1<T> {
+	protected static final VarHandle HEAD;
+	protected static final VarHandle TAIL;
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			HEAD = lookup.findVarHandle(MPMCArrayQueueHeadField.class, "head", long.class);
+			TAIL = lookup.findVarHandle(MPMCArrayQueueTailField.class, "tail", long.class);
+		}
+		catch(ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	protected volatile long head;
+
+	MPMCArrayQueueHeadField(int capacity) { super(capacity); }
+}
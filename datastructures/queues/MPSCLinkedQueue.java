@@ -0,0 +1,222 @@
+package datastructures.queues;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import datastructures.Node;
+
+/**
+ * Lock-free multi-producer/single-consumer queue implementation using
+ * linked {@code Node<T>} objects to store elements. (Vyukov's queue)
+ * <p>Any number of threads can enqueue concurrently; each enqueue is a
+ * single atomic swap of {@code rear}. Only one thread may dequeue, and it
+ * doesn't need any atomic read-modify-write operation to do so.</p>
+ * <p>{@code front} always points to a consumed (stub) node, the next node
+ * holds the frontmost element. A producer that swapped {@code rear} but
+ * didn't link the previous node yet makes the queue look empty to the
+ * consumer for that short window, so {@code poll()} may return null
+ * even though an enqueue has already started.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of elements to be stored in the queue
+ */
+public class MPSCLinkedQueue<T> {
+	private static final VarHandle REAR;
+	private static final VarHandle NEXT;
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			REAR = lookup.findVarHandle(MPSCLinkedQueue.class, "rear", Node.class);
+			NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+		}
+		catch(ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	//Written by producers
+	private volatile Node<T> rear;
+	//Written by consumer only
+	private Node<T> front;
+
+	public MPSCLinkedQueue() {
+		Node<T> stub = new Node<T>(null);
+		this.rear = stub;
+		this.front = stub;
+	}
+
+	/**
+	 * Returns a string representation of the queue, in which elements
+	 * are spaced with an empty whitespace character.
+	 * <p>Must only be called by the consumer thread.</p>
+	 * @return string representation of the queue
+	 */
+	@Override
+	public String toString() {
+		Node<T> cursor = nextOf(front);
+		StringBuilder queueString = new StringBuilder();
+
+		while(cursor != null) {
+			queueString.append(cursor.data);
+			queueString.append(' ');
+			cursor = nextOf(cursor);
+		}
+
+		return queueString.toString();
+	}
+
+	/**
+	 * Returns a boolean value indicating emptiness of the queue.
+	 * <p>Must only be called by the consumer thread.</p>
+	 * @return true if queue is empty, false otherwise
+	 */
+	public boolean isEmpty() { return nextOf(front) == null; }
+
+	/**
+	 * Returns size of the queue. (number of elements in the queue)
+	 * <p>Must only be called by the consumer thread. Time complexity
+	 * of this operation is O(n) since producers don't maintain a
+	 * shared counter.</p>
+	 * @return size of the queue/number of elements
+	 */
+	public int size() {
+		int size = 0;
+		Node<T> cursor = nextOf(front);
+
+		while(cursor != null) {
+			++size;
+			cursor = nextOf(cursor);
+		}
+
+		return size;
+	}
+
+	/**
+	 * Insert an element at the rear of the queue.
+	 * <p>Can be called by any number of threads concurrently.</p>
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NullPointerException} if data is null.</p>
+	 * @param data data to be enqueued
+	 */
+	public void enqueue(T data) {
+		if(data == null)
+			throw new NullPointerException("Null elements are not allowed");
+
+		Node<T> newNode = new Node<T>(data);
+
+		@SuppressWarnings("unchecked")
+		Node<T> previous = (Node<T>) REAR.getAndSet(this, newNode);
+
+		//Publish the link; until this store the consumer sees
+		//previous node as the last one
+		NEXT.setRelease(previous, newNode);
+	}
+
+	/**
+	 * Remove an element from front of the queue if there's any.
+	 * <p>Must only be called by the consumer thread.</p>
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * @return Element at the front of the queue, null if queue is empty
+	 */
+	public T poll() {
+		Node<T> next = nextOf(front);
+
+		if(next == null)
+			return null;
+
+		//Next node becomes the new stub, so it shouldn't keep
+		//a reference to the element
+		T data = next.data;
+		next.data = null;
+		front.next = null;
+		front = next;
+
+		return data;
+	}
+
+	/**
+	 * Remove an element from front of the queue.
+	 * <p>Must only be called by the consumer thread.</p>
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if queue is empty.</p>
+	 * @return Element at the front of the queue
+	 */
+	public T dequeue() {
+		T data = poll();
+
+		if(data == null)
+			throw new NoSuchElementException("Queue is empty");
+
+		return data;
+	}
+
+	/**
+	 * Return the frontmost element.
+	 * <p>Must only be called by the consumer thread.</p>
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if queue is empty.</p>
+	 * @return Element at the front of the queue
+	 */
+	public T peek() {
+		Node<T> next = nextOf(front);
+
+		if(next == null)
+			throw new NoSuchElementException("Queue is empty");
+
+		return next.data;
+	}
+
+	/**
+	 * Remove up to {@code limit} elements from front of the queue and
+	 * pass each of them to the given consumer, in a single pass.
+	 * <p>Must only be called by the consumer thread.</p>
+	 * <p>Time complexity of this operation is O(limit).</p>
+	 * @param consumer consumer to pass the elements to
+	 * @param limit maximum number of elements to remove
+	 * @return number of elements removed
+	 */
+	public int drain(Consumer<? super T> consumer, int limit) {
+		Node<T> cursor = front;
+		int count = 0;
+
+		while(count < limit) {
+			Node<T> next = nextOf(cursor);
+
+			if(next == null)
+				break;
+
+			T data = next.data;
+			next.data = null;
+			cursor.next = null;
+			cursor = next;
+
+			//Keep front up to date so that an exception thrown
+			//by the consumer leaves the queue consistent
+			front = cursor;
+			++count;
+
+			consumer.accept(data);
+		}
+
+		return count;
+	}
+
+	/**
+	 * Remove all elements that are visible at the moment from front
+	 * of the queue and pass each of them to the given consumer.
+	 * <p>Must only be called by the consumer thread.</p>
+	 * @param consumer consumer to pass the elements to
+	 * @return number of elements removed
+	 */
+	public int drain(Consumer<? super T> consumer) {
+		return drain(consumer, Integer.MAX_VALUE);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Node<T> nextOf(Node<T> node) {
+		return (Node<T>) NEXT.getAcquire(node);
+	}
+}
@@ -0,0 +1,40 @@
+package datastructures.queues;
+
+/**
+ * Tick source whose time only moves when it's advanced explicitly.
+ * <p>Used to drive time-driven structures on virtual time, e.g. in tests.</p>
+ * @author Baris Unlusarac
+ */
+public class ManualTickSource implements TickSource {
+	private long nanoTime;
+	
+	/**
+	 * Initialize tick source with time 0.
+	 */
+	public ManualTickSource() {
+		this(0);
+	}
+	
+	/**
+	 * Initialize tick source with given time.
+	 * @param nanoTime initial time in nanoseconds
+	 */
+	public ManualTickSource(long nanoTime) {
+		this.nanoTime = nanoTime;
+	}
+	
+	@Override
+	public long nanoTime() { return nanoTime; }
+	
+	/**
+	 * Move time forward by given amount.
+	 * <p>Throws {@code IllegalArgumentException} if amount is negative.</p>
+	 * @param nanos amount of time in nanoseconds
+	 */
+	public void advance(long nanos) {
+		if(nanos < 0)
+			throw new IllegalArgumentException("Time can't move backwards");
+		
+		nanoTime += nanos;
+	}
+}
@@ -0,0 +1,302 @@
+package datastructures.queues;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Persistent append-only queue implementation using memory-mapped
+ * segment files.
+ * <p>Messages are appended to the current segment file, which is mapped
+ * into memory as a whole, so an enqueue is a memory copy without any
+ * system call. Once a message doesn't fit into the current segment, a
+ * new segment file is created and the old one is terminated with an end
+ * marker. Messages survive restarts of the process (and crashes of it,
+ * since the mapped pages belong to the OS), and the depth of the queue
+ * is only limited by disk space.</p>
+ * <p>Each record is a 4 byte header followed by the message, padded to
+ * a multiple of 4 bytes. Header holds message length + 1, {@code 0}
+ * means nothing is written there yet and {@code -1} marks the end of a
+ * segment. The header is written after the message with release
+ * semantics, so a reader that sees a header also sees the message.</p>
+ * <p>Messages are read by {@code MappedFileQueueTailer} objects, which
+ * don't remove anything from the queue. Each tailer persists its read
+ * position under its name once reads are committed, so it continues
+ * where it left off after a restart and can be rewound to replay the
+ * queue.</p>
+ * <p>Enqueue operations must be called from a single thread. Each
+ * tailer must be used by a single thread as well, but any number of
+ * tailers can read while the writer is appending.</p>
+ * <p>If the corresponding constructor argument regarding to segment
+ * size is left empty, {@code DEFAULT_SEGMENT_SIZE} (which is 64 MiB)
+ * will be assigned for segment size instead.</p>
+ * @author Baris Unlusarac
+ */
+public class MappedFileQueue implements Closeable {
+	private static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+	private static final int MINIMUM_SEGMENT_SIZE = 4096;
+
+	static final int HEADER_SIZE = 4;
+	static final int NOT_WRITTEN = 0;
+	static final int END_OF_SEGMENT = -1;
+	static final VarHandle HEADER = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+	private static final String SEGMENT_SUFFIX = ".segment";
+
+	private final Path directory;
+	private final int segmentSize;
+	private final long firstSegmentIndex;
+
+	private long segmentIndex;
+	private MappedByteBuffer segment;
+	private int writeOffset;
+	private boolean isClosed;
+
+	/**
+	 * Open the queue in given directory, creating the directory if it
+	 * doesn't exist, with default segment size ({@code DEFAULT_SEGMENT_SIZE})
+	 * which is 64 MiB.
+	 * @param directory directory to store segment files in
+	 * @throws IOException if the directory or segment files can't be accessed
+	 */
+	public MappedFileQueue(Path directory) throws IOException {
+		this(directory, DEFAULT_SEGMENT_SIZE);
+	}
+
+	/**
+	 * Open the queue in given directory, creating the directory if it
+	 * doesn't exist, with given segment size.
+	 * <p>Segment size only applies to segments created from now on;
+	 * existing segments are read with their own size.</p>
+	 * <p>Throws {@code IllegalArgumentException} if segment size is
+	 * less than 4096 bytes or not a multiple of 4.</p>
+	 * @param directory directory to store segment files in
+	 * @param segmentSize size of a segment file in bytes
+	 * @throws IOException if the directory or segment files can't be accessed
+	 */
+	public MappedFileQueue(Path directory, int segmentSize) throws IOException {
+		if(segmentSize < MINIMUM_SEGMENT_SIZE || segmentSize % HEADER_SIZE != 0)
+			throw new IllegalArgumentException("Segment size must be a multiple of 4 and at least " + MINIMUM_SEGMENT_SIZE);
+
+		this.directory = Files.createDirectories(directory);
+		this.segmentSize = segmentSize;
+
+		long first = Long.MAX_VALUE;
+		long last = -1;
+
+		try(DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+			for(Path file : files) {
+				long index = parseSegmentIndex(file);
+
+				if(index >= 0) {
+					first = Math.min(first, index);
+					last = Math.max(last, index);
+				}
+			}
+		}
+
+		if(last == -1) {
+			this.firstSegmentIndex = 0;
+			this.segmentIndex = 0;
+			this.segment = mapSegment(0, segmentSize, true);
+			this.writeOffset = 0;
+		}
+		else {
+			//Recover the write position by walking the records
+			//of the last segment until an unwritten header
+			this.firstSegmentIndex = first;
+			this.segmentIndex = last;
+			this.segment = mapSegment(last, 0, true);
+			this.writeOffset = recoverWriteOffset(segment);
+		}
+
+		this.isClosed = false;
+	}
+
+	/**
+	 * Append a message to the queue.
+	 * <p>Time complexity of this operation is O(k) for a message of
+	 * k bytes.</p>
+	 * <p>Throws {@code IllegalArgumentException} if the message doesn't
+	 * fit into a segment, {@code IllegalStateException} if the queue is
+	 * closed and {@code UncheckedIOException} if a new segment file
+	 * can't be created.</p>
+	 * @param data message to be enqueued
+	 */
+	public void enqueue(byte[] data) {
+		int offset = reserve(data.length);
+		segment.put(offset + HEADER_SIZE, data);
+		publish(offset, data.length);
+	}
+
+	/**
+	 * Append remaining bytes of the given buffer to the queue as a
+	 * message. Position of the given buffer is not changed.
+	 * <p>Time complexity of this operation is O(k) for a message of
+	 * k bytes.</p>
+	 * <p>Throws {@code IllegalArgumentException} if the message doesn't
+	 * fit into a segment, {@code IllegalStateException} if the queue is
+	 * closed and {@code UncheckedIOException} if a new segment file
+	 * can't be created.</p>
+	 * @param data message to be enqueued
+	 */
+	public void enqueue(ByteBuffer data) {
+		int length = data.remaining();
+		int offset = reserve(length);
+		segment.put(offset + HEADER_SIZE, data, data.position(), length);
+		publish(offset, length);
+	}
+
+	/**
+	 * Open a tailer with given name, which reads from the position it
+	 * had been left at, or from the first message if it's a new one.
+	 * <p>Throws {@code IllegalArgumentException} if the name is not a
+	 * valid file name.</p>
+	 * @param name name of the tailer
+	 * @return tailer reading this queue
+	 * @throws IOException if the position file of the tailer can't be accessed
+	 */
+	public MappedFileQueueTailer createTailer(String name) throws IOException {
+		if(name.isEmpty() || name.contains("/") || name.contains("\\") || name.startsWith("."))
+			throw new IllegalArgumentException("Invalid tailer name: " + name);
+
+		return new MappedFileQueueTailer(this, directory.resolve(name + ".tailer"));
+	}
+
+	/**
+	 * Force written messages of the current segment to the disk.
+	 * <p>Only needed for durability against OS crashes or power loss;
+	 * tailers see messages as soon as they are enqueued.</p>
+	 */
+	public void flush() {
+		checkOpen();
+		segment.force();
+	}
+
+	/**
+	 * Flush and close the queue. Tailers stay usable until they are
+	 * closed themselves.
+	 */
+	@Override
+	public void close() {
+		if(isClosed)
+			return;
+
+		segment.force();
+		segment = null;
+		isClosed = true;
+	}
+
+	long firstSegmentIndex() { return firstSegmentIndex; }
+
+	MappedByteBuffer mapSegment(long index, int size, boolean writable) throws IOException {
+		Path file = directory.resolve(String.format("%020d", index) + SEGMENT_SUFFIX);
+
+		if(writable) {
+			try(FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+					StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				//Existing segments keep their own size
+				long length = channel.size() > 0 ? channel.size() : size;
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+				buffer.order(ByteOrder.LITTLE_ENDIAN);
+				return buffer;
+			}
+		}
+
+		if(!Files.exists(file))
+			return null;
+
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+			return buffer;
+		}
+	}
+
+	static int recordSize(int length) {
+		//Header plus message, padded so the next header stays aligned
+		return HEADER_SIZE + ((length + HEADER_SIZE - 1) & -HEADER_SIZE);
+	}
+
+	private int reserve(int length) {
+		checkOpen();
+
+		//Checked before padding the length, which could overflow; always
+		//leaves room for the record header and the end marker
+		if(length > segmentSize - 2 * HEADER_SIZE)
+			throw new IllegalArgumentException("Message of " + length + " bytes doesn't fit into a segment");
+
+		int recordSize = recordSize(length);
+
+		if(writeOffset + recordSize > segment.capacity() - HEADER_SIZE)
+			roll();
+
+		return writeOffset;
+	}
+
+	private void publish(int offset, int length) {
+		HEADER.setRelease(segment, offset, length + 1);
+		writeOffset = offset + recordSize(length);
+	}
+
+	private void roll() {
+		MappedByteBuffer next;
+
+		//Next segment must exist before the end marker is
+		//visible, tailers move on to it as soon as they see it
+		try {
+			next = mapSegment(segmentIndex + 1, segmentSize, true);
+		}
+		catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		HEADER.setRelease(segment, writeOffset, END_OF_SEGMENT);
+
+		++segmentIndex;
+		segment = next;
+		writeOffset = 0;
+	}
+
+	private void checkOpen() {
+		if(isClosed)
+			throw new IllegalStateException("Queue is closed");
+	}
+
+	private static int recoverWriteOffset(ByteBuffer segment) {
+		int offset = 0;
+
+		while(offset <= segment.capacity() - HEADER_SIZE) {
+			int header = (int) HEADER.getAcquire(segment, offset);
+
+			if(header == NOT_WRITTEN || header == END_OF_SEGMENT)
+				break;
+
+			offset += recordSize(header - 1);
+		}
+
+		return offset;
+	}
+
+	private static long parseSegmentIndex(Path file) {
+		String name = file.getFileName().toString();
+		String index = name.substring(0, name.length() - SEGMENT_SUFFIX.length());
+
+		try {
+			return Long.parseLong(index);
+		}
+		catch(NumberFormatException e) {
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,170 @@
+package datastructures.queues;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reader of a {@code MappedFileQueue} with a persisted read position.
+ * <p>Read position (segment index and offset in the segment) is kept in
+ * a small memory-mapped position file of the tailer, and restored when a
+ * tailer with the same name is created again. Reading only advances the
+ * position in memory; {@code commit} stores it once the caller is done
+ * with the messages read so far. Segment index and offset are packed into
+ * a single aligned 8 byte word, so a commit is one store and a crash can
+ * never leave a segment index paired with the offset of another segment.
+ * So delivery is at-least-once: messages read but not committed before
+ * a crash or restart are read again.</p>
+ * <p>Messages are returned as read-only views of the mapped segment,
+ * no bytes are copied. A view stays valid after the tailer moves on.</p>
+ * @author Baris Unlusarac
+ */
+public class MappedFileQueueTailer implements Closeable {
+	private static final int POSITION_FILE_SIZE = 8;
+	private static final VarHandle POSITION = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+	//Offsets in a segment are below 2^31, which leaves the upper
+	//33 bits of the packed position for the segment index
+	private static final int OFFSET_BITS = 31;
+	private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+
+	private final MappedFileQueue queue;
+	private MappedByteBuffer position;
+
+	private long segmentIndex;
+	private MappedByteBuffer segment;
+	private int readOffset;
+
+	MappedFileQueueTailer(MappedFileQueue queue, Path positionFile) throws IOException {
+		this.queue = queue;
+
+		try(FileChannel channel = FileChannel.open(positionFile, StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			boolean isNew = channel.size() < POSITION_FILE_SIZE;
+			this.position = channel.map(FileChannel.MapMode.READ_WRITE, 0, POSITION_FILE_SIZE);
+
+			if(isNew) {
+				moveTo(queue.firstSegmentIndex(), 0);
+				commit();
+			}
+			else {
+				long packed = (long) POSITION.getVolatile(position, 0);
+				moveTo(packed >>> OFFSET_BITS, (int) (packed & OFFSET_MASK));
+			}
+		}
+
+		this.segment = queue.mapSegment(segmentIndex, 0, false);
+	}
+
+	/**
+	 * Read the next message and advance the read position in memory.
+	 * The position is only persisted by {@code commit}.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code IllegalStateException} if the tailer is closed
+	 * and {@code UncheckedIOException} if the next segment file can't
+	 * be mapped.</p>
+	 * @return read-only view of the message, null if there's no new message
+	 */
+	public ByteBuffer read() {
+		checkOpen();
+
+		while(true) {
+			//Writer hasn't created the segment yet
+			if(segment == null && !remapSegment())
+				return null;
+
+			int header = readOffset <= segment.capacity() - MappedFileQueue.HEADER_SIZE
+					? (int) MappedFileQueue.HEADER.getAcquire(segment, readOffset)
+					: MappedFileQueue.END_OF_SEGMENT;
+
+			if(header == MappedFileQueue.NOT_WRITTEN)
+				return null;
+
+			if(header == MappedFileQueue.END_OF_SEGMENT) {
+				moveTo(segmentIndex + 1, 0);
+				segment = null;
+				continue;
+			}
+
+			int length = header - 1;
+			ByteBuffer message = segment.slice(readOffset + MappedFileQueue.HEADER_SIZE, length).asReadOnlyBuffer();
+			moveTo(segmentIndex, readOffset + MappedFileQueue.recordSize(length));
+
+			return message;
+		}
+	}
+
+	/**
+	 * Persist the read position, marking every message read so far as
+	 * processed. They won't be read again after a restart.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code IllegalStateException} if the tailer is closed.</p>
+	 */
+	public void commit() {
+		checkOpen();
+		POSITION.setVolatile(position, 0, (segmentIndex << OFFSET_BITS) | readOffset);
+	}
+
+	/**
+	 * Move the read position back to the first message of the
+	 * queue, so that all messages are replayed. Like reads, it's
+	 * only persisted by {@code commit}.
+	 */
+	public void rewind() {
+		checkOpen();
+		moveTo(queue.firstSegmentIndex(), 0);
+		segment = null;
+	}
+
+	/**
+	 * Force the committed read position to the disk.
+	 * <p>Only needed for durability against OS crashes or power loss.</p>
+	 */
+	public void sync() {
+		checkOpen();
+		position.force();
+	}
+
+	/**
+	 * Flush the committed read position and close the tailer. Messages
+	 * read but not committed are read again by the next tailer with the
+	 * same name.
+	 */
+	@Override
+	public void close() {
+		if(position == null)
+			return;
+
+		position.force();
+		position = null;
+		segment = null;
+	}
+
+	private boolean remapSegment() {
+		try {
+			segment = queue.mapSegment(segmentIndex, 0, false);
+			return segment != null;
+		}
+		catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void moveTo(long segmentIndex, int readOffset) {
+		this.segmentIndex = segmentIndex;
+		this.readOffset = readOffset;
+	}
+
+	private void checkOpen() {
+		if(position == null)
+			throw new IllegalStateException("Tailer is closed");
+	}
+}
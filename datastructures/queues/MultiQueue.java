@@ -0,0 +1,298 @@
+package datastructures.queues;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent relaxed priority queue made of many sequential heaps
+ * (MultiQueue), ordered by a {@code Comparator<T>} with the smallest
+ * element first.
+ * <p>For p threads, c*p {@code ComparatorPriorityQueue}s are kept, each
+ * guarded by its own lock that is only ever tried, never waited on. An
+ * insertion goes to a random heap; a removal samples two random heaps and
+ * takes the smaller of their minimums. If the chosen lock is taken, the
+ * thread just picks other heaps, so threads rarely contend. In exchange
+ * the removed element is not necessarily the global minimum, but close
+ * to it: the expected rank error is O(c*p). A larger c means less
+ * contention and a larger rank error.</p>
+ * <p>With rank error tracking enabled, every removal counts the heaps
+ * whose minimum is smaller than the removed element, a lower bound of
+ * its rank error, at the cost of reading every heap's minimum. If the
+ * corresponding constructor arguments are left empty, the number of
+ * available processors is used as the number of threads,
+ * {@code DEFAULT_FACTOR} (which is 2) as c, and rank error isn't tracked.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of elements to be stored in the queue
+ */
+public class MultiQueue<T> {
+	private static final int DEFAULT_FACTOR = 2;
+
+	private final Comparator<? super T> comparator;
+	private final Shard<T>[] shards;
+	private final boolean isRankErrorTracked;
+
+	private final LongAdder lockFailures;
+	private final LongAdder rankErrorSum;
+	private final LongAdder rankErrorSamples;
+	private final LongAccumulator maxRankError;
+
+	/**
+	 * Initialize a queue ordered by given comparator for as many threads
+	 * as there are available processors, with default factor
+	 * ({@code DEFAULT_FACTOR}) which is 2.
+	 * @param comparator comparator to order elements with
+	 */
+	public MultiQueue(Comparator<? super T> comparator) {
+		this(comparator, Runtime.getRuntime().availableProcessors(), DEFAULT_FACTOR, false);
+	}
+
+	/**
+	 * Initialize a queue ordered by given comparator with
+	 * {@code factor * threadCount} heaps.
+	 * <p>Throws {@code IllegalArgumentException} if thread count or
+	 * factor is not positive, or there would be fewer than 2 heaps.</p>
+	 * @param comparator comparator to order elements with
+	 * @param threadCount number of threads using the queue
+	 * @param factor number of heaps per thread
+	 * @param isRankErrorTracked whether to collect rank error statistics
+	 */
+	@SuppressWarnings("unchecked")
+	public MultiQueue(Comparator<? super T> comparator, int threadCount, int factor, boolean isRankErrorTracked) {
+		if(threadCount <= 0 || factor <= 0)
+			throw new IllegalArgumentException("Thread count and factor must be positive");
+
+		long shardCount = (long) threadCount * factor;
+
+		if(shardCount < 2 || shardCount > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Number of heaps must be in range [2, 2^31 - 1]");
+
+		this.comparator = comparator;
+		this.shards = (Shard<T>[]) new Shard<?>[(int) shardCount];
+		this.isRankErrorTracked = isRankErrorTracked;
+
+		for(int i=0; i < shards.length; ++i)
+			shards[i] = new Shard<T>(comparator);
+
+		this.lockFailures = new LongAdder();
+		this.rankErrorSum = new LongAdder();
+		this.rankErrorSamples = new LongAdder();
+		this.maxRankError = new LongAccumulator(Math::max, 0);
+	}
+
+	/**
+	 * Returns number of internal heaps.
+	 * @return number of heaps
+	 */
+	public int heapCount() { return shards.length; }
+
+	/**
+	 * Returns number of elements in the queue. Not a snapshot if the
+	 * queue is being modified concurrently.
+	 * <p>Time complexity of this operation is O(c*p).</p>
+	 * @return number of elements
+	 */
+	public int size() {
+		int size = 0;
+
+		for(Shard<T> shard : shards)
+			size += shard.size;
+
+		return size;
+	}
+
+	/**
+	 * Returns a boolean value indicating emptiness of the queue. Not a
+	 * snapshot if the queue is being modified concurrently.
+	 * <p>Time complexity of this operation is O(c*p).</p>
+	 * @return true if queue is empty, false otherwise
+	 */
+	public boolean isEmpty() {
+		for(Shard<T> shard : shards) {
+			if(shard.top != null)
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Insert an element to a random heap.
+	 * <p>Time complexity of this operation is O(log(n/cp)) expected.</p>
+	 * <p>Throws {@code NullPointerException} if data is null.</p>
+	 * @param data data to be inserted
+	 */
+	public void insert(T data) {
+		//Null marks an empty heap for sampling
+		if(data == null)
+			throw new NullPointerException("Null elements are not allowed");
+
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+
+		while(true) {
+			Shard<T> shard = shards[random.nextInt(shards.length)];
+
+			if(!shard.tryLock()) {
+				lockFailures.increment();
+				continue;
+			}
+
+			try {
+				shard.heap.enqueue(data);
+				shard.publish();
+				return;
+			}
+			finally {
+				shard.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Remove an element close to the minimum: the smaller of the
+	 * minimums of two random heaps.
+	 * <p>Time complexity of this operation is O(log(n/cp)) expected,
+	 * plus O(cp) with rank error tracking.</p>
+	 * @return removed element, or {@code null} if every heap was
+	 * seen empty
+	 */
+	public T poll() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+
+		while(true) {
+			Shard<T> first = shards[random.nextInt(shards.length)];
+			Shard<T> second = shards[random.nextInt(shards.length)];
+			T firstTop = first.top;
+			T secondTop = second.top;
+
+			Shard<T> chosen;
+
+			if(firstTop == null && secondTop == null) {
+				//Both samples are empty, look for any non-empty heap
+				chosen = findNonEmpty(random.nextInt(shards.length));
+
+				if(chosen == null)
+					return null;
+			}
+			else if(secondTop == null || (firstTop != null && comparator.compare(firstTop, secondTop) <= 0)) {
+				chosen = first;
+			}
+			else {
+				chosen = second;
+			}
+
+			if(!chosen.tryLock()) {
+				lockFailures.increment();
+				continue;
+			}
+
+			T data;
+
+			try {
+				//Emptied by another thread since its top was read
+				if(chosen.heap.isEmpty())
+					continue;
+
+				data = chosen.heap.dequeue();
+				chosen.publish();
+			}
+			finally {
+				chosen.unlock();
+			}
+
+			if(isRankErrorTracked)
+				recordRankError(data);
+
+			return data;
+		}
+	}
+
+	/**
+	 * Returns number of times a lock was found taken and another heap
+	 * was tried instead.
+	 * @return number of failed lock attempts
+	 */
+	public long lockFailureCount() { return lockFailures.sum(); }
+
+	/**
+	 * Returns number of removals whose rank error was recorded.
+	 * @return number of rank error samples
+	 */
+	public long rankErrorSampleCount() { return rankErrorSamples.sum(); }
+
+	/**
+	 * Returns average rank error of the recorded removals: the number of
+	 * heaps holding a smaller minimum than the removed element.
+	 * @return average rank error, 0 if nothing is recorded
+	 */
+	public double averageRankError() {
+		long samples = rankErrorSamples.sum();
+		return samples == 0 ? 0 : (double) rankErrorSum.sum() / samples;
+	}
+
+	/**
+	 * Returns maximum rank error of the recorded removals.
+	 * @return maximum rank error, 0 if nothing is recorded
+	 */
+	public long maxRankError() { return maxRankError.get(); }
+
+	/**
+	 * Reset lock failure and rank error statistics.
+	 */
+	public void resetStatistics() {
+		lockFailures.reset();
+		rankErrorSum.reset();
+		rankErrorSamples.reset();
+		maxRankError.reset();
+	}
+
+	private Shard<T> findNonEmpty(int start) {
+		for(int i=0; i < shards.length; ++i) {
+			Shard<T> shard = shards[(start + i) % shards.length];
+
+			if(shard.top != null)
+				return shard;
+		}
+
+		return null;
+	}
+
+	private void recordRankError(T data) {
+		long error = 0;
+
+		for(Shard<T> shard : shards) {
+			T top = shard.top;
+
+			if(top != null && comparator.compare(top, data) < 0)
+				++error;
+		}
+
+		rankErrorSum.add(error);
+		rankErrorSamples.increment();
+		maxRankError.accumulate(error);
+	}
+
+	private static final class Shard<T> extends ReentrantLock {
+		private static final long serialVersionUID = 1L;
+
+		private final ComparatorPriorityQueue<T> heap;
+
+		//Written under the lock, read without it for sampling
+		private volatile T top;
+		private volatile int size;
+
+		Shard(Comparator<? super T> comparator) {
+			//ComparatorPriorityQueue dequeues the greatest element first
+			this.heap = new ComparatorPriorityQueue<T>(Collections.reverseOrder(comparator));
+		}
+
+		private void publish() {
+			top = heap.isEmpty() ? null : heap.peek();
+			size = heap.size();
+		}
+	}
+}
@@ -0,0 +1,229 @@
+package datastructures.queues;
+
+import java.io.Closeable;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.NoSuchElementException;
+
+/**
+ * Circular queue implementation storing {@code long} values in a direct
+ * (off-heap) buffer.
+ * <p>Unlike {@code CircularArrayQueue<Long>}, values are never boxed, so
+ * enqueuing and dequeuing doesn't allocate anything and the garbage
+ * collector never has to scan or copy the contents of the queue,
+ * no matter how long it gets. Byte payloads can be stored by packing
+ * them into longs, or through {@code OffHeapRecordRingQueue}.</p>
+ * <p>Capacity is rounded up to the next power of two so that indices
+ * wrap with a bitmask. Bulk {@code offer(long[])/poll(long[])} copy
+ * with at most two block copies.</p>
+ * <p>Memory of a direct buffer can't be freed explicitly, it's released
+ * once the buffer gets garbage collected. {@code close()} only drops the
+ * queue's references to the buffer so that this can happen while the
+ * queue object itself is still reachable; a closed queue can't be used
+ * anymore.</p>
+ * @author Baris Unlusarac
+ */
+public class OffHeapLongRingQueue implements Closeable {
+	private static final int MAXIMUM_CAPACITY = 1 << 27;
+
+	private final int capacity;
+	private final int mask;
+	private long rearIndex;
+	private long frontIndex;
+	private ByteBuffer memory;
+	private LongBuffer data;
+
+	/**
+	 * Initialize queue with given capacity, rounded up to the next
+	 * power of two.
+	 * <p>Throws {@code IllegalArgumentException} if capacity is
+	 * not in range [1, 2^27], which keeps the buffer within 2^30 bytes.</p>
+	 * @param capacity capacity of the queue.
+	 */
+	public OffHeapLongRingQueue(int capacity) {
+		if(capacity <= 0 || capacity > MAXIMUM_CAPACITY)
+			throw new IllegalArgumentException("Capacity must be in range [1, 2^27]");
+
+		this.capacity = 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1));
+		this.mask = this.capacity - 1;
+		this.memory = ByteBuffer.allocateDirect(this.capacity * Long.BYTES).order(ByteOrder.nativeOrder());
+		this.data = memory.asLongBuffer();
+		this.rearIndex = 0;
+		this.frontIndex = 0;
+	}
+
+	/**
+	 * Returns size of the queue. (number of elements in the queue)
+	 * @return size of the queue/number of elements
+	 */
+	public int size() { return (int) (rearIndex - frontIndex); }
+
+	/**
+	 * Returns capacity of the queue.
+	 * @return capacity of the queue
+	 */
+	public int capacity() { return capacity; }
+
+	/**
+	 * Returns a boolean value indicating emptiness of the queue.
+	 * @return true if queue is empty, false otherwise
+	 */
+	public boolean isEmpty() { return rearIndex == frontIndex; }
+
+	/**
+	 * Returns a boolean value indicating fullness of the queue.
+	 * @return true if queue is full, false otherwise
+	 */
+	public boolean isFull() { return size() == capacity; }
+
+	/**
+	 * Insert a value at the rear of the queue if there's space.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * @param value value to be enqueued
+	 * @return true if the value is enqueued, false if queue is full
+	 */
+	public boolean offer(long value) {
+		checkOpen();
+
+		if(isFull())
+			return false;
+
+		data.put((int) rearIndex & mask, value);
+		++rearIndex;
+		return true;
+	}
+
+	/**
+	 * Insert a value at the rear of the queue.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code BufferOverflowException} while inserting
+	 * a value to a full queue.</p>
+	 * @param value value to be enqueued
+	 */
+	public void enqueue(long value) {
+		if(!offer(value))
+			throw new BufferOverflowException();
+	}
+
+	/**
+	 * Insert as many values of the given array as fit at the rear
+	 * of the queue, in order.
+	 * <p>Time complexity of this operation is O(k) for k values.</p>
+	 * @param values values to be enqueued
+	 * @return number of values enqueued
+	 */
+	public int offer(long[] values) {
+		return offer(values, 0, values.length);
+	}
+
+	/**
+	 * Insert as many values of the given array range as fit at the
+	 * rear of the queue, in order.
+	 * <p>Time complexity of this operation is O(k) for k values.</p>
+	 * @param values values to be enqueued
+	 * @param offset index of the first value in the array
+	 * @param length number of values to enqueue
+	 * @return number of values enqueued
+	 */
+	public int offer(long[] values, int offset, int length) {
+		checkOpen();
+
+		int count = Math.min(length, capacity - size());
+		int index = (int) rearIndex & mask;
+		int firstRun = Math.min(count, capacity - index);
+
+		data.put(index, values, offset, firstRun);
+		data.put(0, values, offset + firstRun, count - firstRun);
+
+		rearIndex += count;
+		return count;
+	}
+
+	/**
+	 * Remove a value from front of the queue.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if queue is empty.</p>
+	 * @return value at the front of the queue
+	 */
+	public long dequeue() {
+		long value = peek();
+		++frontIndex;
+		return value;
+	}
+
+	/**
+	 * Remove as many values as fit into the given array from front
+	 * of the queue, in order.
+	 * <p>Time complexity of this operation is O(k) for k values.</p>
+	 * @param values array to copy the values into
+	 * @return number of values dequeued
+	 */
+	public int poll(long[] values) {
+		return poll(values, 0, values.length);
+	}
+
+	/**
+	 * Remove as many values as fit into the given array range from
+	 * front of the queue, in order.
+	 * <p>Time complexity of this operation is O(k) for k values.</p>
+	 * @param values array to copy the values into
+	 * @param offset index in the array to copy the first value to
+	 * @param length maximum number of values to dequeue
+	 * @return number of values dequeued
+	 */
+	public int poll(long[] values, int offset, int length) {
+		checkOpen();
+
+		int count = Math.min(length, size());
+		int index = (int) frontIndex & mask;
+		int firstRun = Math.min(count, capacity - index);
+
+		data.get(index, values, offset, firstRun);
+		data.get(0, values, offset + firstRun, count - firstRun);
+
+		frontIndex += count;
+		return count;
+	}
+
+	/**
+	 * Return the frontmost value.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if queue is empty.</p>
+	 * @return value at the front of the queue
+	 */
+	public long peek() {
+		checkOpen();
+
+		if(isEmpty())
+			throw new NoSuchElementException("Queue is empty");
+
+		return data.get((int) frontIndex & mask);
+	}
+
+	/**
+	 * Delete all values and clear the queue.
+	 */
+	public void clear() {
+		rearIndex = 0;
+		frontIndex = 0;
+	}
+
+	/**
+	 * Close the queue and drop its references to the buffer.
+	 * <p>Direct buffers can't be freed explicitly before Java 22's
+	 * {@code Arena}, so the memory is only released once the garbage
+	 * collector reclaims the buffer.</p>
+	 */
+	@Override
+	public void close() {
+		memory = null;
+		data = null;
+	}
+
+	private void checkOpen() {
+		if(data == null)
+			throw new IllegalStateException("Queue is closed");
+	}
+}
@@ -0,0 +1,192 @@
+package datastructures.queues;
+
+import java.io.Closeable;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.NoSuchElementException;
+
+/**
+ * Circular queue implementation storing fixed-width byte records in a
+ * direct (off-heap) buffer.
+ * <p>Every record is {@code recordSize} bytes long. Records are copied
+ * in and out of the buffer, so the queue never holds any object the
+ * garbage collector has to trace. See {@code OffHeapLongRingQueue} for
+ * single {@code long} values.</p>
+ * <p>Capacity (in records) is rounded up to the next power of two so
+ * that indices wrap with a bitmask. Bulk operations copy with at most
+ * two block copies.</p>
+ * <p>Memory of the direct buffer is released once it gets garbage
+ * collected; {@code close()} only drops the queue's reference to it.
+ * A closed queue can't be used anymore.</p>
+ * @author Baris Unlusarac
+ */
+public class OffHeapRecordRingQueue implements Closeable {
+	private final int recordSize;
+	private final int capacity;
+	private final int mask;
+	private long rearIndex;
+	private long frontIndex;
+	private ByteBuffer data;
+
+	/**
+	 * Initialize queue with given record size and capacity, rounded
+	 * up to the next power of two.
+	 * <p>Throws {@code IllegalArgumentException} if record size or
+	 * capacity is not positive, or the queue would exceed 2^30 bytes
+	 * after rounding its capacity up.</p>
+	 * @param recordSize size of a record in bytes
+	 * @param capacity capacity of the queue in records
+	 */
+	public OffHeapRecordRingQueue(int recordSize, int capacity) {
+		if(recordSize <= 0 || capacity <= 0 || capacity > (1 << 30))
+			throw new IllegalArgumentException("Record size and capacity must be positive and take at most 2^30 bytes");
+
+		this.recordSize = recordSize;
+		this.capacity = 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1));
+
+		//Checked after rounding, which can double the size
+		if((long) this.recordSize * this.capacity > (1 << 30))
+			throw new IllegalArgumentException("Record size and capacity must be positive and take at most 2^30 bytes");
+
+		this.mask = this.capacity - 1;
+		this.data = ByteBuffer.allocateDirect(this.recordSize * this.capacity);
+		this.rearIndex = 0;
+		this.frontIndex = 0;
+	}
+
+	/**
+	 * Returns size of a record in bytes.
+	 * @return size of a record
+	 */
+	public int recordSize() { return recordSize; }
+
+	/**
+	 * Returns size of the queue. (number of records in the queue)
+	 * @return size of the queue/number of records
+	 */
+	public int size() { return (int) (rearIndex - frontIndex); }
+
+	/**
+	 * Returns capacity of the queue in records.
+	 * @return capacity of the queue
+	 */
+	public int capacity() { return capacity; }
+
+	/**
+	 * Returns a boolean value indicating emptiness of the queue.
+	 * @return true if queue is empty, false otherwise
+	 */
+	public boolean isEmpty() { return rearIndex == frontIndex; }
+
+	/**
+	 * Returns a boolean value indicating fullness of the queue.
+	 * @return true if queue is full, false otherwise
+	 */
+	public boolean isFull() { return size() == capacity; }
+
+	/**
+	 * Insert records from the given array at the rear of the queue,
+	 * as many as fit. Array length must be a multiple of record size.
+	 * <p>Time complexity of this operation is O(k) for k bytes.</p>
+	 * <p>Throws {@code IllegalArgumentException} if array length is
+	 * not a multiple of record size.</p>
+	 * @param records records to be enqueued, back to back
+	 * @return number of records enqueued
+	 */
+	public int offer(byte[] records) {
+		checkOpen();
+
+		if(records.length % recordSize != 0)
+			throw new IllegalArgumentException("Array length must be a multiple of record size");
+
+		int count = Math.min(records.length / recordSize, capacity - size());
+		int index = (int) rearIndex & mask;
+		int firstRun = Math.min(count, capacity - index);
+
+		data.put(index * recordSize, records, 0, firstRun * recordSize);
+		data.put(0, records, firstRun * recordSize, (count - firstRun) * recordSize);
+
+		rearIndex += count;
+		return count;
+	}
+
+	/**
+	 * Insert a single record at the rear of the queue.
+	 * <p>Time complexity of this operation is O(k) for k bytes.</p>
+	 * <p>Throws {@code BufferOverflowException} while inserting a
+	 * record to a full queue, and {@code IllegalArgumentException}
+	 * if array length is not equal to record size.</p>
+	 * @param record record to be enqueued
+	 */
+	public void enqueue(byte[] record) {
+		if(record.length != recordSize)
+			throw new IllegalArgumentException("Array length must be equal to record size");
+
+		if(offer(record) == 0)
+			throw new BufferOverflowException();
+	}
+
+	/**
+	 * Remove as many records as fit into the given array from front
+	 * of the queue. Array length must be a multiple of record size.
+	 * <p>Time complexity of this operation is O(k) for k bytes.</p>
+	 * <p>Throws {@code IllegalArgumentException} if array length is
+	 * not a multiple of record size.</p>
+	 * @param records array to copy the records into, back to back
+	 * @return number of records dequeued
+	 */
+	public int poll(byte[] records) {
+		checkOpen();
+
+		if(records.length % recordSize != 0)
+			throw new IllegalArgumentException("Array length must be a multiple of record size");
+
+		int count = Math.min(records.length / recordSize, size());
+		int index = (int) frontIndex & mask;
+		int firstRun = Math.min(count, capacity - index);
+
+		data.get(index * recordSize, records, 0, firstRun * recordSize);
+		data.get(0, records, firstRun * recordSize, (count - firstRun) * recordSize);
+
+		frontIndex += count;
+		return count;
+	}
+
+	/**
+	 * Remove a single record from front of the queue.
+	 * <p>Time complexity of this operation is O(k) for k bytes.</p>
+	 * <p>Throws {@code NoSuchElementException} if queue is empty.</p>
+	 * @return record at the front of the queue
+	 */
+	public byte[] dequeue() {
+		if(isEmpty())
+			throw new NoSuchElementException("Queue is empty");
+
+		byte[] record = new byte[recordSize];
+		poll(record);
+		return record;
+	}
+
+	/**
+	 * Delete all records and clear the queue.
+	 */
+	public void clear() {
+		rearIndex = 0;
+		frontIndex = 0;
+	}
+
+	/**
+	 * Close the queue and drop its reference to the buffer.
+	 * <p>Direct buffers can't be freed explicitly, so the memory is
+	 * only released once the garbage collector reclaims the buffer.</p>
+	 */
+	@Override
+	public void close() {
+		data = null;
+	}
+
+	private void checkOpen() {
+		if(data == null)
+			throw new IllegalStateException("Queue is closed");
+	}
+}
@@ -0,0 +1,255 @@
+package datastructures.queues;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@code Flow.Publisher} backed by a {@code MPSCLinkedQueue<T>}.
+ * <p>Any number of threads can {@code submit} elements, which are queued
+ * until the subscriber asks for them with {@code request(n)}. Elements are
+ * delivered on the given executor, in batches of up to the outstanding
+ * demand (capped at {@code maxBatchSize} so that a single subscriber
+ * doesn't occupy an executor thread forever), without any polling: a
+ * delivery run is only scheduled when an element or demand arrives.</p>
+ * <p>The publisher is unicast, since every queued element is meant to be
+ * consumed once; a second subscriber is rejected with
+ * {@code IllegalStateException}. Every signal to the subscriber, errors
+ * included, is sent from the delivery run, so signals never overlap.
+ * Once the subscription ends (cancelled, failed or completed), queued
+ * and newly submitted elements are dropped.</p>
+ * <p>If the corresponding constructor arguments are left empty,
+ * {@code ForkJoinPool.commonPool()} is used as executor and
+ * {@code DEFAULT_MAX_BATCH_SIZE} (which is 256) as maximum batch size.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of elements to be published
+ */
+public class QueuePublisher<T> implements Flow.Publisher<T> {
+	private static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+	private final MPSCLinkedQueue<T> queue;
+	private final Executor executor;
+	private final int maxBatchSize;
+	private final AtomicReference<QueueSubscription> subscription;
+	private final AtomicInteger workInProgress;
+	private final AtomicInteger submitters;
+	private volatile boolean isClosed;
+	private volatile boolean isTerminated;
+
+	/**
+	 * Initialize publisher delivering on {@code ForkJoinPool.commonPool()}.
+	 */
+	public QueuePublisher() {
+		this(ForkJoinPool.commonPool(), DEFAULT_MAX_BATCH_SIZE);
+	}
+
+	/**
+	 * Initialize publisher delivering on given executor in batches
+	 * of at most given size.
+	 * <p>Throws {@code IllegalArgumentException} if maximum batch
+	 * size is not positive.</p>
+	 * @param executor executor to deliver elements on
+	 * @param maxBatchSize maximum number of elements delivered in one run
+	 */
+	public QueuePublisher(Executor executor, int maxBatchSize) {
+		if(maxBatchSize <= 0)
+			throw new IllegalArgumentException("Maximum batch size must be positive");
+
+		this.queue = new MPSCLinkedQueue<T>();
+		this.executor = executor;
+		this.maxBatchSize = maxBatchSize;
+		this.subscription = new AtomicReference<QueueSubscription>();
+		this.workInProgress = new AtomicInteger();
+		this.submitters = new AtomicInteger();
+		this.isClosed = false;
+		this.isTerminated = false;
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super T> subscriber) {
+		QueueSubscription newSubscription = new QueueSubscription(subscriber);
+
+		if(!subscription.compareAndSet(null, newSubscription)) {
+			QueueSubscription rejected = new QueueSubscription(subscriber);
+			rejected.isCancelled = true;
+
+			subscriber.onSubscribe(rejected);
+			subscriber.onError(new IllegalStateException("Publisher allows only one subscriber"));
+			return;
+		}
+
+		subscriber.onSubscribe(newSubscription);
+
+		//Elements submitted before subscribing, or close()
+		schedule();
+	}
+
+	/**
+	 * Queue an element to be delivered to the subscriber.
+	 * <p>Can be called by any number of threads concurrently.</p>
+	 * <p>Throws {@code IllegalStateException} if the publisher is closed.</p>
+	 * @param data element to be published
+	 * @return true if the element is queued, false if it's dropped
+	 * because the subscription has ended
+	 */
+	public boolean submit(T data) {
+		//Registered before checking isClosed, so that completion waits
+		//for submits that saw the publisher open
+		submitters.incrementAndGet();
+
+		try {
+			if(isClosed)
+				throw new IllegalStateException("Publisher is closed");
+
+			if(isTerminated)
+				return false;
+
+			queue.enqueue(data);
+			return true;
+		}
+		finally {
+			submitters.decrementAndGet();
+			schedule();
+		}
+	}
+
+	/**
+	 * Close the publisher. Subscriber is completed once
+	 * every queued element is delivered.
+	 */
+	public void close() {
+		isClosed = true;
+		schedule();
+	}
+
+	private void schedule() {
+		//Only the thread that moves the counter from 0 starts a run,
+		//others just tell the running one to look again
+		if(subscription.get() != null && workInProgress.getAndIncrement() == 0)
+			executor.execute(this::drain);
+	}
+
+	private void drain() {
+		QueueSubscription current = subscription.get();
+		int missed = 1;
+
+		do {
+			long emitted = 0;
+
+			while(!isTerminated && current.isActive() && emitted < maxBatchSize) {
+				long requested = current.demand.get();
+
+				if(requested == 0)
+					break;
+
+				int limit = (int) Math.min(requested, maxBatchSize - emitted);
+				int count = queue.drain(current::deliver, limit);
+
+				if(count == 0)
+					break;
+
+				emitted += count;
+
+				if(requested != Long.MAX_VALUE)
+					current.demand.addAndGet(-count);
+			}
+
+			if(!isTerminated) {
+				if(current.error != null) {
+					terminate(current);
+					current.subscriber.onError(current.error);
+				}
+				else if(current.isCancelled) {
+					terminate(current);
+				}
+				else if(isClosed && submitters.get() == 0 && queue.isEmpty()) {
+					terminate(current);
+					current.subscriber.onComplete();
+				}
+				else if(emitted == maxBatchSize && current.demand.get() > 0 && !queue.isEmpty()) {
+					//Batch size reached with work left, yield the
+					//executor thread and continue in a new run
+					executor.execute(this::drain);
+					return;
+				}
+			}
+
+			//Nothing will ever be delivered again, including elements
+			//submitted while the subscription was ending
+			if(isTerminated)
+				while(queue.poll() != null);
+
+			missed = workInProgress.addAndGet(-missed);
+		} while(missed != 0);
+	}
+
+	private void terminate(QueueSubscription current) {
+		current.isCancelled = true;
+		isTerminated = true;
+	}
+
+	private class QueueSubscription implements Flow.Subscription {
+		private final Flow.Subscriber<? super T> subscriber;
+		private final AtomicLong demand;
+		private volatile boolean isCancelled;
+		private volatile Throwable error;
+
+		QueueSubscription(Flow.Subscriber<? super T> subscriber) {
+			this.subscriber = subscriber;
+			this.demand = new AtomicLong();
+			this.isCancelled = false;
+			this.error = null;
+		}
+
+		@Override
+		public void request(long n) {
+			if(!isActive())
+				return;
+
+			if(n <= 0) {
+				//Signalled by the delivery run, which may be
+				//calling onNext right now
+				error = new IllegalArgumentException("Requested number of elements must be positive");
+				schedule();
+				return;
+			}
+
+			//Add with saturation at Long.MAX_VALUE, which means unbounded
+			demand.getAndAccumulate(n, (current, added) -> {
+				long sum = current + added;
+				return sum < 0 ? Long.MAX_VALUE : sum;
+			});
+
+			schedule();
+		}
+
+		@Override
+		public void cancel() {
+			isCancelled = true;
+			schedule();
+		}
+
+		private boolean isActive() {
+			return !isCancelled && error == null;
+		}
+
+		private void deliver(T data) {
+			//Cancelled or failed in the middle of a batch
+			if(!isActive())
+				return;
+
+			try {
+				subscriber.onNext(data);
+			}
+			catch(RuntimeException e) {
+				//Subscriber violated the specification, treat
+				//it as if the subscription was cancelled
+				isCancelled = true;
+			}
+		}
+	}
+}
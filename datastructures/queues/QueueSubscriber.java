@@ -0,0 +1,162 @@
+package datastructures.queues;
+
+import java.util.concurrent.Flow;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Bounded {@code Flow.Subscriber} sink backed by a {@code SPSCArrayQueue<T>}.
+ * <p>The subscriber never requests more elements than its buffer can hold:
+ * it requests a full buffer on subscription and requests again once the
+ * consumer has taken half of the buffer, so the publisher can deliver in
+ * batches while the buffer can never overflow.</p>
+ * <p>Elements are taken by a single consumer thread with {@code poll} or
+ * the blocking {@code take}, which waits through the given
+ * {@code WaitStrategy}. If the corresponding constructor argument regarding
+ * to the wait strategy is left empty, {@code BlockingWaitStrategy} is
+ * used.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of elements to be received
+ */
+public class QueueSubscriber<T> implements Flow.Subscriber<T> {
+	private final SPSCArrayQueue<T> buffer;
+	private final WaitStrategy waitStrategy;
+	private final int replenishThreshold;
+	private final BooleanSupplier readyOrDone = () -> !isBufferEmpty() || isTerminated();
+
+	private volatile Flow.Subscription subscription;
+	private volatile boolean isTerminated;
+	private volatile Throwable error;
+	private int consumed;
+
+	/**
+	 * Initialize subscriber with given buffer capacity, rounded up to
+	 * the next power of two.
+	 * @param capacity capacity of the buffer
+	 */
+	public QueueSubscriber(int capacity) {
+		this(capacity, new BlockingWaitStrategy());
+	}
+
+	/**
+	 * Initialize subscriber with given buffer capacity, rounded up to
+	 * the next power of two, and given wait strategy for {@code take}.
+	 * @param capacity capacity of the buffer
+	 * @param waitStrategy strategy to wait with in {@code take}
+	 */
+	public QueueSubscriber(int capacity, WaitStrategy waitStrategy) {
+		this.buffer = new SPSCArrayQueue<T>(capacity, waitStrategy);
+		this.waitStrategy = waitStrategy;
+		this.replenishThreshold = Math.max(buffer.capacity() / 2, 1);
+		this.isTerminated = false;
+		this.consumed = 0;
+	}
+
+	@Override
+	public void onSubscribe(Flow.Subscription subscription) {
+		if(this.subscription != null) {
+			subscription.cancel();
+			return;
+		}
+
+		this.subscription = subscription;
+		subscription.request(buffer.capacity());
+	}
+
+	@Override
+	public void onNext(T item) {
+		//Publisher sent more than requested
+		if(!buffer.offer(item)) {
+			subscription.cancel();
+			onError(new IllegalStateException("Publisher sent more elements than requested"));
+		}
+	}
+
+	@Override
+	public void onError(Throwable throwable) {
+		error = throwable;
+		terminate();
+	}
+
+	@Override
+	public void onComplete() {
+		terminate();
+	}
+
+	/**
+	 * Remove an element from the buffer if there's any.
+	 * <p>Must only be called by the consumer thread.</p>
+	 * @return next element, null if the buffer is empty
+	 */
+	public T poll() {
+		T data = buffer.poll();
+
+		if(data != null && ++consumed >= replenishThreshold) {
+			int count = consumed;
+			consumed = 0;
+			subscription.request(count);
+		}
+
+		return data;
+	}
+
+	/**
+	 * Remove an element from the buffer, waiting for one to arrive if
+	 * the buffer is empty.
+	 * <p>Must only be called by the consumer thread.</p>
+	 * <p>Throws {@code InterruptedException} if interrupted while
+	 * waiting.</p>
+	 * @return next element, null if the publisher completed or failed
+	 * and every element is taken
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public T take() throws InterruptedException {
+		while(true) {
+			//Read the flag before polling, so that an element
+			//delivered right before termination isn't missed
+			boolean wasTerminated = isTerminated;
+			T data = poll();
+
+			if(data != null)
+				return data;
+
+			if(wasTerminated)
+				return null;
+
+			waitStrategy.await(readyOrDone, Long.MAX_VALUE);
+		}
+	}
+
+	/**
+	 * Cancel the subscription. Elements already in the buffer
+	 * can still be taken.
+	 */
+	public void cancel() {
+		Flow.Subscription current = subscription;
+
+		if(current != null)
+			current.cancel();
+
+		terminate();
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the publisher has
+	 * completed or failed, or the subscription has been cancelled.
+	 * @return true if no more elements will arrive, false otherwise
+	 */
+	public boolean isTerminated() { return isTerminated; }
+
+	/**
+	 * Returns the error the publisher failed with.
+	 * @return error of the publisher, null if it didn't fail
+	 */
+	public Throwable getError() { return error; }
+
+	private boolean isBufferEmpty() { return buffer.isEmpty(); }
+
+	private void terminate() {
+		isTerminated = true;
+		waitStrategy.signalAll();
+	}
+}
@@ -0,0 +1,363 @@
+package datastructures.queues;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Lock-free single-producer/single-consumer circular queue implementation
+ * using fixed-size array.
+ * <p>Unlike {@code CircularArrayQueue<T>}, {@code SPSCArrayQueue<T>} can
+ * be used to hand elements from exactly one producer thread to exactly
+ * one consumer thread without any locking. Capacity is rounded up to the
+ * next power of two so that indices wrap with a bitmask instead of a
+ * branch.</p>
+ * <p>The producer owns {@code tail} and the consumer owns {@code head};
+ * both are ever-increasing sequences padded apart from each other so they
+ * don't share a cache line. Each side keeps a plain cached copy of the
+ * other side's sequence and only re-reads the shared one (with acquire
+ * semantics) when the cached copy says the queue is full/empty. Slots and
+ * sequences are published with release semantics.</p>
+ * <p>Blocking {@code put/take} and timed {@code offer/poll} wait through
+ * a {@code WaitStrategy}. If the corresponding constructor argument
+ * regarding to capacity is left empty, {@code DEFAULT_CAPACITY} (which is
+ * 1024) will be assigned for capacity instead, and if the wait strategy
+ * is left empty, {@code BackoffParkingWaitStrategy} is used.</p>
+ * <p>Calling producer methods from more than one thread, or consumer
+ * methods from more than one thread, breaks the queue.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of elements to be stored in the queue
+ */
+public class SPSCArrayQueue<T> extends SPSCArrayQueueConsumerFields<T> {
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	//Padding after the consumer fields
+	long p20, p21, p22, p23, p24, p25, p26, p27;
+
+	private final WaitStrategy waitStrategy;
+	private final BooleanSupplier notFull = () -> !isFull();
+	private final BooleanSupplier notEmpty = () -> !isEmpty();
+
+	/**
+	 * Initialize queue with default capacity ({@code DEFAULT_CAPACITY})
+	 * which is 1024.
+	 */
+	public SPSCArrayQueue() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Initialize queue with given capacity, rounded up to the next
+	 * power of two.
+	 * <p>Throws {@code IllegalArgumentException} if capacity is not
+	 * positive or too large to be rounded up.</p>
+	 * @param capacity capacity of the queue.
+	 */
+	public SPSCArrayQueue(int capacity) {
+		this(capacity, new BackoffParkingWaitStrategy());
+	}
+
+	/**
+	 * Initialize queue with given capacity, rounded up to the next
+	 * power of two, and given wait strategy for blocking operations.
+	 * <p>Throws {@code IllegalArgumentException} if capacity is not
+	 * positive or too large to be rounded up.</p>
+	 * @param capacity capacity of the queue.
+	 * @param waitStrategy strategy to wait with in blocking operations
+	 */
+	public SPSCArrayQueue(int capacity, WaitStrategy waitStrategy) {
+		super(roundToPowerOfTwo(capacity));
+		this.waitStrategy = waitStrategy;
+	}
+
+	/**
+	 * Returns capacity of the queue.
+	 * @return capacity of the queue
+	 */
+	public int capacity() { return mask + 1; }
+
+	/**
+	 * Returns size of the queue. (number of elements in the queue)
+	 * <p>The value is only a snapshot when called while producer
+	 * and consumer are running.</p>
+	 * @return size of the queue/number of elements
+	 */
+	public int size() {
+		long head = (long) HEAD.getAcquire(this);
+		long tail = (long) TAIL.getAcquire(this);
+		long size = tail - head;
+
+		//Sequences might be read in between updates
+		if(size < 0)
+			return 0;
+
+		return (int) Math.min(size, mask + 1);
+	}
+
+	/**
+	 * Returns a boolean value indicating emptiness of the queue.
+	 * @return true if queue is empty, false otherwise
+	 */
+	public boolean isEmpty() { return size() == 0; }
+
+	/**
+	 * Returns a boolean value indicating fullness of the queue.
+	 * @return true if queue is full, false otherwise
+	 */
+	public boolean isFull() { return size() == mask + 1; }
+
+	/**
+	 * Insert an element at the rear of the queue if there's space.
+	 * <p>Must only be called by the producer thread.</p>
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NullPointerException} if data is null.</p>
+	 * @param data data to be enqueued
+	 * @return true if the element is enqueued, false if queue is full
+	 */
+	public boolean offer(T data) {
+		if(data == null)
+			throw new NullPointerException("Null elements are not allowed");
+
+		long tail = this.tail;
+		long wrapPoint = tail - (mask + 1);
+
+		//Only touch the consumer's cache line when the cached head
+		//says there's no space left
+		if(headCache <= wrapPoint) {
+			headCache = (long) HEAD.getAcquire(this);
+
+			if(headCache <= wrapPoint)
+				return false;
+		}
+
+		SLOT.setRelease(this.data, (int) tail & mask, data);
+		TAIL.setRelease(this, tail + 1);
+		waitStrategy.signalAll();
+		return true;
+	}
+
+	/**
+	 * Insert an element at the rear of the queue, waiting up to the
+	 * given time for space to become available.
+	 * <p>Must only be called by the producer thread.</p>
+	 * <p>Throws {@code InterruptedException} if interrupted while
+	 * waiting.</p>
+	 * @param data data to be enqueued
+	 * @param timeout maximum time to wait
+	 * @param unit time unit of the timeout
+	 * @return true if the element is enqueued, false on timeout
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public boolean offer(T data, long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+		while(!offer(data)) {
+			if(!waitStrategy.await(notFull, deadline - System.nanoTime()))
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Insert an element at the rear of the queue, waiting for space
+	 * to become available if the queue is full.
+	 * <p>Must only be called by the producer thread.</p>
+	 * <p>Throws {@code InterruptedException} if interrupted while
+	 * waiting.</p>
+	 * @param data data to be enqueued
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public void put(T data) throws InterruptedException {
+		while(!offer(data))
+			waitStrategy.await(notFull, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Insert an element at the rear of the queue.
+	 * <p>Must only be called by the producer thread.</p>
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code BufferOverflowException} while inserting
+	 * an element to a full queue.</p>
+	 * @param data data to be enqueued
+	 */
+	public void enqueue(T data) {
+		if(!offer(data))
+			throw new BufferOverflowException();
+	}
+
+	/**
+	 * Remove an element from front of the queue if there's any.
+	 * <p>Must only be called by the consumer thread.</p>
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * @return Element at the front of the queue, null if queue is empty
+	 */
+	public T poll() {
+		long head = this.head;
+
+		//Only touch the producer's cache line when the cached tail
+		//says there's nothing left to consume
+		if(head >= tailCache) {
+			tailCache = (long) TAIL.getAcquire(this);
+
+			if(head >= tailCache)
+				return null;
+		}
+
+		int index = (int) head & mask;
+
+		@SuppressWarnings("unchecked")
+		T data = (T) this.data[index];
+		this.data[index] = null;
+
+		HEAD.setRelease(this, head + 1);
+		waitStrategy.signalAll();
+		return data;
+	}
+
+	/**
+	 * Remove an element from front of the queue, waiting up to the
+	 * given time for an element to become available.
+	 * <p>Must only be called by the consumer thread.</p>
+	 * <p>Throws {@code InterruptedException} if interrupted while
+	 * waiting.</p>
+	 * @param timeout maximum time to wait
+	 * @param unit time unit of the timeout
+	 * @return Element at the front of the queue, null on timeout
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		T data;
+
+		while((data = poll()) == null) {
+			if(!waitStrategy.await(notEmpty, deadline - System.nanoTime()))
+				return null;
+		}
+
+		return data;
+	}
+
+	/**
+	 * Remove an element from front of the queue, waiting for an
+	 * element to become available if the queue is empty.
+	 * <p>Must only be called by the consumer thread.</p>
+	 * <p>Throws {@code InterruptedException} if interrupted while
+	 * waiting.</p>
+	 * @return Element at the front of the queue
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public T take() throws InterruptedException {
+		T data;
+
+		while((data = poll()) == null)
+			waitStrategy.await(notEmpty, Long.MAX_VALUE);
+
+		return data;
+	}
+
+	/**
+	 * Remove an element from front of the queue.
+	 * <p>Must only be called by the consumer thread.</p>
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if queue is empty.</p>
+	 * @return Element at the front of the queue
+	 */
+	public T dequeue() {
+		T data = poll();
+
+		if(data == null)
+			throw new NoSuchElementException("Queue is empty");
+
+		return data;
+	}
+
+	/**
+	 * Return the frontmost element without removing it.
+	 * <p>Must only be called by the consumer thread.</p>
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * <p>Throws {@code NoSuchElementException} if queue is empty.</p>
+	 * @return Element at the front of the queue
+	 */
+	public T peek() {
+		long head = this.head;
+
+		if(head >= tailCache) {
+			tailCache = (long) TAIL.getAcquire(this);
+
+			if(head >= tailCache)
+				throw new NoSuchElementException("Queue is empty");
+		}
+
+		@SuppressWarnings("unchecked")
+		T data = (T) this.data[(int) head & mask];
+		return data;
+	}
+
+	private static int roundToPowerOfTwo(int capacity) {
+		if(capacity <= 0 || capacity > (1 << 30))
+			throw new IllegalArgumentException("Capacity must be in range [1, 2^30]");
+
+		return 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1));
+	}
+}
+
+//Fields are split into a class hierarchy because the JVM is free to
+//reorder fields within a class, but lays out superclass fields first.
+
+abstract class SPSCArrayQueueColdFields<T> {
+	protected final int mask;
+	protected final Object[] data;
+
+	SPSCArrayQueueColdFields(int capacity) {
+		this.mask = capacity - 1;
+		this.data = new Object[capacity];
+	}
+}
+
+abstract class SPSCArrayQueuePad0<T> extends SPSCArrayQueueColdFields<T> {
+	long p00, p01, p02, p03, p04, p05, p06, p07;
+
+	SPSCArrayQueuePad0(int capacity) { super(capacity); }
+}
+
+abstract class SPSCArrayQueueProducerFields<T> extends SPSCArrayQueuePad0<T> {
+	//Written by producer only
+	protected volatile long tail;
+	protected long headCache;
+
+	SPSCArrayQueueProducerFields(int capacity) { super(capacity); }
+}
+
+abstract class SPSCArrayQueuePad1<T> extends SPSCArrayQueueProducerFields<T> {
+	long p10, p11, p12, p13, p14, p15, p16, p17;
+
+	SPSCArrayQueuePad1(int capacity) { super(capacity); }
+}
+
+abstract class SPSCArrayQueueConsumerFields<T> extends SPSCArrayQueuePad1<T> {
+	protected static final VarHandle HEAD;
+	protected static final VarHandle TAIL;
+	protected static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			HEAD = lookup.findVarHandle(SPSCArrayQueueConsumerFields.class, "head", long.class);
+			TAIL = lookup.findVarHandle(SPSCArrayQueueProducerFields.class, "tail", long.class);
+		}
+		catch(ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	//Written by consumer only
+	protected volatile long head;
+	protected long tailCache;
+
+	SPSCArrayQueueConsumerFields(int capacity) { super(capacity); }
+}
@@ -0,0 +1,22 @@
+package datastructures.queues;
+
+/**
+ * Source of time for time-driven structures such as {@code TimingWheel<T>}.
+ * <p>Time is read in nanoseconds from an arbitrary origin, like
+ * {@code System.nanoTime()}. Tests can plug in a
+ * {@code ManualTickSource} to run on virtual time.</p>
+ * @author Baris Unlusarac
+ */
+@FunctionalInterface
+public interface TickSource {
+	/**
+	 * Tick source backed by {@code System.nanoTime()}.
+	 */
+	TickSource SYSTEM = System::nanoTime;
+	
+	/**
+	 * Returns current time in nanoseconds.
+	 * @return current time in nanoseconds
+	 */
+	long nanoTime();
+}
@@ -0,0 +1,299 @@
+package datastructures.queues;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel implementation for scheduling large numbers
+ * of timeouts.
+ * <p>Time is divided into ticks of a fixed duration. Level 0 of the wheel
+ * is a ring of {@code wheelSize} buckets, one per tick; every further level
+ * is a ring of the same size whose buckets span {@code wheelSize} times
+ * more ticks than the buckets of the level below. An element goes to the
+ * lowest level that can hold its deadline, and whenever the wheel turns
+ * past a bucket of a higher level, the elements of that bucket are
+ * cascaded down to lower levels. Levels are allocated on demand.</p>
+ * <p>Buckets are circular doubly-linked lists of {@code TimingWheelTimeout<T>}
+ * nodes, so scheduling and cancelling are O(1). Advancing the wheel
+ * detaches whole buckets and expires their contents in one pass.</p>
+ * <p>Deadlines are counted from the current time of the tick source, even
+ * if the wheel hasn't been advanced to it yet. They are rounded up to
+ * whole ticks and are at least one tick in the future. If the
+ * corresponding constructor argument regarding to wheel size is left
+ * empty, {@code DEFAULT_WHEEL_SIZE} (which is 64) will be assigned for
+ * wheel size instead.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of elements to be scheduled
+ */
+public class TimingWheel<T> {
+	private static final int DEFAULT_WHEEL_SIZE = 64;
+
+	private final TickSource tickSource;
+	private final long tickNanos;
+	private final long startNanos;
+	private final int bits;
+	private final int mask;
+	private final TimingWheelTimeout<T>[][] levels;
+
+	private long currentTick;
+	private int size;
+
+	/**
+	 * Initialize wheel with given tick duration on the system clock
+	 * and default wheel size ({@code DEFAULT_WHEEL_SIZE}) which is 64.
+	 * @param tickDuration duration of a tick
+	 * @param unit time unit of the tick duration
+	 */
+	public TimingWheel(long tickDuration, TimeUnit unit) {
+		this(TickSource.SYSTEM, tickDuration, unit, DEFAULT_WHEEL_SIZE);
+	}
+
+	/**
+	 * Initialize wheel with given tick source, tick duration and
+	 * wheel size, which is rounded up to the next power of two.
+	 * <p>Throws {@code IllegalArgumentException} if tick duration is
+	 * not positive or wheel size is not in range [2, 2^16].</p>
+	 * @param tickSource source of time
+	 * @param tickDuration duration of a tick
+	 * @param unit time unit of the tick duration
+	 * @param wheelSize number of buckets in each level
+	 */
+	@SuppressWarnings("unchecked")
+	public TimingWheel(TickSource tickSource, long tickDuration, TimeUnit unit, int wheelSize) {
+		if(tickDuration <= 0)
+			throw new IllegalArgumentException("Tick duration must be positive");
+
+		if(wheelSize < 2 || wheelSize > (1 << 16))
+			throw new IllegalArgumentException("Wheel size must be in range [2, 2^16]");
+
+		this.tickSource = tickSource;
+		this.tickNanos = unit.toNanos(tickDuration);
+		this.startNanos = tickSource.nanoTime();
+		this.bits = 32 - Integer.numberOfLeadingZeros(wheelSize - 1);
+		this.mask = (1 << bits) - 1;
+
+		//Enough levels to cover any non-negative long deadline
+		this.levels = (TimingWheelTimeout<T>[][]) new TimingWheelTimeout<?>[(Long.SIZE - 1 + bits - 1) / bits][];
+		this.currentTick = 0;
+		this.size = 0;
+	}
+
+	/**
+	 * Returns number of scheduled elements.
+	 * @return number of scheduled elements
+	 */
+	public int size() { return size; }
+
+	/**
+	 * Returns a boolean value indicating emptiness of the wheel.
+	 * @return true if nothing is scheduled, false otherwise
+	 */
+	public boolean isEmpty() { return size == 0; }
+
+	/**
+	 * Returns the tick the wheel has been advanced to.
+	 * @return current tick
+	 */
+	public long currentTick() { return currentTick; }
+
+	/**
+	 * Schedule an element to expire after given delay.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * @param data element to be scheduled
+	 * @param delay delay after which the element expires
+	 * @param unit time unit of the delay
+	 * @return handle to cancel the element with
+	 */
+	public TimingWheelTimeout<T> schedule(T data, long delay, TimeUnit unit) {
+		long nanos = Math.max(unit.toNanos(delay), 0);
+		long ticks = nanos / tickNanos + (nanos % tickNanos == 0 ? 0 : 1);
+		return scheduleAfterTicks(data, ticks);
+	}
+
+	/**
+	 * Schedule an element to expire after given number of ticks from
+	 * the current tick of the tick source.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * @param data element to be scheduled
+	 * @param ticks number of ticks after which the element expires
+	 * @return handle to cancel the element with
+	 */
+	public TimingWheelTimeout<T> scheduleAfterTicks(T data, long ticks) {
+		//Wheel may lag behind the tick source if it hasn't been advanced
+		//for a while, count from whichever is ahead
+		long now = Math.max(currentTick, sourceTick());
+
+		//Current tick's bucket has already been expired
+		long delay = Math.max(ticks, 1);
+		long deadline = delay > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + delay;
+
+		TimingWheelTimeout<T> timeout = new TimingWheelTimeout<T>(data, deadline);
+		place(timeout);
+		++size;
+
+		return timeout;
+	}
+
+	/**
+	 * Cancel a scheduled element.
+	 * <p>Time complexity of this operation is O(1).</p>
+	 * @param timeout handle of the element
+	 * @return true if the element is cancelled, false if it
+	 * had already expired or been cancelled
+	 */
+	public boolean cancel(TimingWheelTimeout<T> timeout) {
+		if(!timeout.isScheduled())
+			return false;
+
+		unlink(timeout);
+		--size;
+		return true;
+	}
+
+	/**
+	 * Advance the wheel to the current time of the tick source and
+	 * pass every element that expires to the given consumer.
+	 * <p>Time complexity of this operation is O(t + k) for t elapsed
+	 * ticks and k cascaded or expired elements.</p>
+	 * @param expired consumer to pass the expired elements to
+	 * @return number of expired elements
+	 */
+	public int advance(Consumer<? super T> expired) {
+		return advanceTo(sourceTick(), expired);
+	}
+
+	/**
+	 * Advance the wheel to the given tick and pass every element that
+	 * expires to the given consumer.
+	 * <p>Time complexity of this operation is O(t + k) for t elapsed
+	 * ticks and k cascaded or expired elements.</p>
+	 * @param tick tick to advance to, ignored if it's in the past
+	 * @param expired consumer to pass the expired elements to
+	 * @return number of expired elements
+	 */
+	public int advanceTo(long tick, Consumer<? super T> expired) {
+		int count = 0;
+
+		while(currentTick < tick) {
+			//Nothing to turn the wheel for
+			if(size == 0) {
+				currentTick = tick;
+				break;
+			}
+
+			++currentTick;
+			cascade();
+			count += expire(bucket(0, (int) currentTick & mask), expired);
+		}
+
+		return count;
+	}
+
+	private long sourceTick() {
+		return (tickSource.nanoTime() - startNanos) / tickNanos;
+	}
+
+	private void cascade() {
+		//Find the highest level whose bucket boundary is crossed,
+		//then cascade from there down so that elements moved from
+		//a higher level can be cascaded again by the lower ones
+		int highest = 0;
+
+		while(highest + 1 < levels.length && (currentTick & ((1L << ((highest + 1) * bits)) - 1)) == 0)
+			++highest;
+
+		for(int level = highest; level >= 1; --level) {
+			if(levels[level] == null)
+				continue;
+
+			TimingWheelTimeout<T> sentinel = levels[level][(int) (currentTick >>> (level * bits)) & mask];
+
+			for(TimingWheelTimeout<T> timeout = detach(sentinel); timeout != null; ) {
+				TimingWheelTimeout<T> next = timeout.next;
+				place(timeout);
+				timeout = next;
+			}
+		}
+	}
+
+	private int expire(TimingWheelTimeout<T> sentinel, Consumer<? super T> expired) {
+		TimingWheelTimeout<T> first = detach(sentinel);
+		int count = 0;
+
+		//Mark the whole batch as expired before running any callback,
+		//so that callbacks cancelling elements of the same batch see
+		//them as already expired and don't touch the chain
+		for(TimingWheelTimeout<T> timeout = first; timeout != null; timeout = timeout.next) {
+			timeout.prev = null;
+			++count;
+		}
+
+		size -= count;
+
+		for(TimingWheelTimeout<T> timeout = first; timeout != null; ) {
+			TimingWheelTimeout<T> next = timeout.next;
+			timeout.next = null;
+
+			expired.accept(timeout.data);
+			timeout = next;
+		}
+
+		return count;
+	}
+
+	private void place(TimingWheelTimeout<T> timeout) {
+		long difference = timeout.deadline - currentTick;
+		int level = difference <= 0 ? 0 : (63 - Long.numberOfLeadingZeros(difference)) / bits;
+		int index = (int) (timeout.deadline >>> (level * bits)) & mask;
+
+		//Append to the bucket, before its sentinel
+		TimingWheelTimeout<T> sentinel = bucket(level, index);
+		timeout.next = sentinel;
+		timeout.prev = sentinel.prev;
+		sentinel.prev.next = timeout;
+		sentinel.prev = timeout;
+	}
+
+	private TimingWheelTimeout<T> bucket(int level, int index) {
+		TimingWheelTimeout<T>[] buckets = levels[level];
+
+		if(buckets == null) {
+			@SuppressWarnings("unchecked")
+			TimingWheelTimeout<T>[] newBuckets = (TimingWheelTimeout<T>[]) new TimingWheelTimeout<?>[mask + 1];
+
+			for(int i=0; i < newBuckets.length; ++i) {
+				TimingWheelTimeout<T> sentinel = new TimingWheelTimeout<T>(null, -1);
+				sentinel.next = sentinel;
+				sentinel.prev = sentinel;
+				newBuckets[i] = sentinel;
+			}
+
+			levels[level] = newBuckets;
+			buckets = newBuckets;
+		}
+
+		return buckets[index];
+	}
+
+	//Empties the bucket in O(1) and returns its first node, with
+	//the last node's next link set to null
+	private TimingWheelTimeout<T> detach(TimingWheelTimeout<T> sentinel) {
+		if(sentinel.next == sentinel)
+			return null;
+
+		TimingWheelTimeout<T> first = sentinel.next;
+		sentinel.prev.next = null;
+		sentinel.next = sentinel;
+		sentinel.prev = sentinel;
+
+		return first;
+	}
+
+	private void unlink(TimingWheelTimeout<T> timeout) {
+		timeout.prev.next = timeout.next;
+		timeout.next.prev = timeout.prev;
+		timeout.next = null;
+		timeout.prev = null;
+	}
+}
@@ -0,0 +1,42 @@
+package datastructures.queues;
+
+/**
+ * Handle of an element scheduled on a {@code TimingWheel<T>}.
+ * <p>Handles are the nodes of the bucket lists themselves, so a
+ * scheduled element can be unlinked from its bucket in O(1). Links
+ * are only accessible to the wheel, so they can't be broken from
+ * outside.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of the scheduled element
+ */
+public class TimingWheelTimeout<T> {
+	final T data;
+	final long deadline;
+	TimingWheelTimeout<T> next;
+	TimingWheelTimeout<T> prev;
+	
+	TimingWheelTimeout(T data, long deadline) {
+		this.data = data;
+		this.deadline = deadline;
+	}
+	
+	/**
+	 * Returns the scheduled element.
+	 * @return scheduled element
+	 */
+	public T data() { return data; }
+	
+	/**
+	 * Returns the tick this element expires at.
+	 * @return deadline of the element in ticks
+	 */
+	public long deadline() { return deadline; }
+	
+	/**
+	 * Returns a boolean value indicating whether the element is still
+	 * waiting on the wheel, i.e. it has neither expired nor been cancelled.
+	 * @return true if the element is scheduled, false otherwise
+	 */
+	public boolean isScheduled() { return prev != null; }
+}
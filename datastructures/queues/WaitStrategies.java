@@ -0,0 +1,25 @@
+package datastructures.queues;
+
+/**
+ * Deadline helpers shared by {@code WaitStrategy} implementations.
+ * @author Baris Unlusarac
+ */
+final class WaitStrategies {
+	static final long NO_DEADLINE = Long.MAX_VALUE;
+	
+	private WaitStrategies() {}
+	
+	static long deadline(long timeoutNanos) {
+		if(timeoutNanos == Long.MAX_VALUE)
+			return NO_DEADLINE;
+		
+		long deadline = System.nanoTime() + Math.max(timeoutNanos, 0);
+		
+		//Avoid colliding with NO_DEADLINE on overflow
+		return deadline == NO_DEADLINE ? NO_DEADLINE - 1 : deadline;
+	}
+	
+	static boolean isExpired(long deadline) {
+		return deadline != NO_DEADLINE && System.nanoTime() - deadline >= 0;
+	}
+}
@@ -0,0 +1,35 @@
+package datastructures.queues;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Strategy used by concurrent queues to wait for a condition, such as
+ * queue not being full or empty anymore, in blocking operations.
+ * <p>A queue calls {@code await} from a thread that can't make progress
+ * and {@code signalAll} after every change that might let a waiting
+ * thread make progress. Since that includes every non-blocking operation,
+ * {@code signalAll} must be cheap while nobody waits. Implementations
+ * trade latency for CPU usage; none of them pin the carrier thread of
+ * a virtual thread.</p>
+ * @author Baris Unlusarac
+ */
+public interface WaitStrategy {
+	/**
+	 * Wait until the given condition is true or the timeout elapses.
+	 * <p>{@code Long.MAX_VALUE} as timeout means waiting without a
+	 * time limit.</p>
+	 * <p>Throws {@code InterruptedException} if the current thread
+	 * is interrupted while waiting.</p>
+	 * @param condition condition to wait for
+	 * @param timeoutNanos maximum time to wait in nanoseconds
+	 * @return true if the condition became true, false on timeout
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	boolean await(BooleanSupplier condition, long timeoutNanos) throws InterruptedException;
+	
+	/**
+	 * Wake up threads waiting on this strategy so that they
+	 * re-check their conditions.
+	 */
+	void signalAll();
+}
@@ -0,0 +1,41 @@
+package datastructures.queues;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Wait strategy that spins for a short while and then yields the CPU
+ * between checks of the condition.
+ * <p>Keeps latency low while letting other threads on the same core
+ * run.</p>
+ * @author Baris Unlusarac
+ */
+public class YieldingWaitStrategy implements WaitStrategy {
+	private static final int SPIN_TRIES = 100;
+	
+	@Override
+	public boolean await(BooleanSupplier condition, long timeoutNanos) throws InterruptedException {
+		long deadline = WaitStrategies.deadline(timeoutNanos);
+		int tries = 0;
+		
+		while(!condition.getAsBoolean()) {
+			if(Thread.interrupted())
+				throw new InterruptedException();
+			
+			if(WaitStrategies.isExpired(deadline))
+				return false;
+			
+			if(tries < SPIN_TRIES) {
+				++tries;
+				Thread.onSpinWait();
+			}
+			else {
+				Thread.yield();
+			}
+		}
+		
+		return true;
+	}
+	
+	@Override
+	public void signalAll() {}
+}
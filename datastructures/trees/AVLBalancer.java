@@ -0,0 +1,199 @@
+package datastructures.trees;
+
+import datastructures.AVLTreeNode;
+
+/**
+ * Balancing logic shared by {@code AVLTree<T>} and {@code AVLTreeMap<K, V>}.
+ * <p>Holds the root of a tree of {@code AVLTreeNode<T>} objects and the
+ * path from the root to the node being inserted or removed. The owning
+ * class walks down comparing keys its own way and pushes every node it
+ * passes; linking a leaf or unlinking a node then retraces heights along
+ * the path, rotating where needed, and stops as soon as they stop
+ * changing. Key order is never consulted, so this works for any key
+ * type.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <T> type of data stored in the nodes
+ */
+final class AVLBalancer<T> {
+	//Height of an AVL tree is below 1.45log(n + 2), so this
+	//is enough for any number of nodes an int can count
+	private static final int MAX_HEIGHT = 48;
+
+	AVLTreeNode<T> root;
+	private final AVLTreeNode<T>[] path;
+	private final boolean[] isRightOnPath;
+	private int depth;
+
+	@SuppressWarnings("unchecked")
+	AVLBalancer() {
+		this.root = null;
+		this.path = (AVLTreeNode<T>[]) new AVLTreeNode<?>[MAX_HEIGHT];
+		this.isRightOnPath = new boolean[MAX_HEIGHT];
+		this.depth = 0;
+	}
+
+	/**
+	 * Push a node to the path, with the side of it the walk continues on.
+	 * @param node node passed on the way down
+	 * @param isRight true if the walk continues to the right child
+	 */
+	void push(AVLTreeNode<T> node, boolean isRight) {
+		path[depth] = node;
+		isRightOnPath[depth] = isRight;
+		++depth;
+	}
+
+	/**
+	 * Empty the path without changing the tree.
+	 */
+	void clearPath() {
+		for(int i=0; i < depth; ++i)
+			path[i] = null;
+
+		depth = 0;
+	}
+
+	/**
+	 * Link a new leaf on the pushed side of the last node on the path,
+	 * or make it the root if the path is empty, and rebalance the tree.
+	 * The path is emptied afterwards.
+	 * @param leaf node to be linked
+	 */
+	void insertLeaf(AVLTreeNode<T> leaf) {
+		replaceChild(depth, leaf);
+
+		for(int i = depth - 1; i >= 0; --i) {
+			AVLTreeNode<T> tree = path[i];
+			int oldHeight = tree.height;
+			tree.height = Math.max(getHeight(tree.left), getHeight(tree.right)) + 1;
+
+			if(Math.abs(calculateBalanceFactor(tree)) > 1) {
+				//A rotation after an insertion restores the height the
+				//subtree had before, so nothing above it changes
+				replaceChild(i, balance(tree));
+				break;
+			}
+
+			if(tree.height == oldHeight)
+				break;
+		}
+
+		clearPath();
+	}
+
+	/**
+	 * Unlink given node, which must be the child of the last node on the
+	 * path on its pushed side (or the root if the path is empty), and
+	 * rebalance the tree. The path is emptied afterwards.
+	 * @param node node to be unlinked
+	 */
+	void remove(AVLTreeNode<T> node) {
+		if(node.left == null || node.right == null) {
+			replaceChild(depth, node.left != null ? node.left : node.right);
+		}
+		else {
+			//Find the successor without comparisons, unlink it from
+			//its place and move the successor node into the removed
+			//node's place, so no data has to be copied between nodes
+			int nodeDepth = depth;
+			push(node, true);
+			AVLTreeNode<T> successor = node.right;
+
+			while(successor.left != null) {
+				push(successor, false);
+				successor = successor.left;
+			}
+
+			replaceChild(depth, successor.right);
+
+			successor.left = node.left;
+			successor.right = node.right;
+			successor.height = node.height;
+			path[nodeDepth] = successor;
+			replaceChild(nodeDepth, successor);
+		}
+
+		for(int i = depth - 1; i >= 0; --i) {
+			AVLTreeNode<T> tree = path[i];
+			int oldHeight = tree.height;
+			tree.height = Math.max(getHeight(tree.left), getHeight(tree.right)) + 1;
+
+			if(Math.abs(calculateBalanceFactor(tree)) > 1) {
+				//Unlike insertion, a rotation can shorten the subtree
+				tree = balance(tree);
+				replaceChild(i, tree);
+			}
+
+			if(tree.height == oldHeight)
+				break;
+		}
+
+		node.left = null;
+		node.right = null;
+		clearPath();
+	}
+
+	//Links the given subtree to the node at given depth of the path
+	//in place of the node below it, or makes it the root
+	private void replaceChild(int depth, AVLTreeNode<T> subtree) {
+		if(depth == 0)
+			root = subtree;
+		else if(isRightOnPath[depth - 1])
+			path[depth - 1].right = subtree;
+		else
+			path[depth - 1].left = subtree;
+	}
+
+	//Rotates an imbalanced subtree, choosing the rotation by the
+	//balance factor of its taller child instead of comparing keys
+	private AVLTreeNode<T> balance(AVLTreeNode<T> tree) {
+		if(calculateBalanceFactor(tree) > 1) {
+			if(calculateBalanceFactor(tree.left) < 0)
+				tree.left = leftRotate(tree.left);
+
+			return rightRotate(tree);
+		}
+		else {
+			if(calculateBalanceFactor(tree.right) > 0)
+				tree.right = rightRotate(tree.right);
+
+			return leftRotate(tree);
+		}
+	}
+
+	private int getHeight(AVLTreeNode<T> tree) {
+		if(tree == null)
+			return -1;
+		else
+			return tree.height;
+	}
+
+	private int calculateBalanceFactor(AVLTreeNode<T> node) {
+		return getHeight(node.left) - getHeight(node.right);
+	}
+
+	private AVLTreeNode<T> rightRotate(AVLTreeNode<T> node) {
+		AVLTreeNode<T> leftSubtree = node.left;
+		node.left = leftSubtree.right;
+		leftSubtree.right = node;
+
+		//Update height of modified nodes
+		node.height = Math.max(getHeight(node.left), getHeight(node.right)) + 1;
+		leftSubtree.height = Math.max(getHeight(leftSubtree.left), getHeight(leftSubtree.right)) + 1;
+
+		return leftSubtree;
+	}
+
+	private AVLTreeNode<T> leftRotate(AVLTreeNode<T> node) {
+		AVLTreeNode<T> rightSubtree = node.right;
+		node.right = rightSubtree.left;
+		rightSubtree.left = node;
+
+		//Update height of modified nodes
+		node.height = Math.max(getHeight(node.left), getHeight(node.right)) + 1;
+		rightSubtree.height = Math.max(getHeight(rightSubtree.left), getHeight(rightSubtree.right)) + 1;
+
+		return rightSubtree;
+	}
+}
@@ -14,10 +14,11 @@ import datastructures.AVLTreeNode;
  */
 
 public class AVLTree<T extends Number> {
-	private AVLTreeNode<T> root;
+	private final AVLBalancer<T> balancer;
 	
 	public AVLTree(T data) {
-		this.root = new AVLTreeNode<T>(data);
+		this.balancer = new AVLBalancer<T>();
+		this.balancer.root = new AVLTreeNode<T>(data);
 	}
 	
 	/**
@@ -29,7 +30,7 @@ public class AVLTree<T extends Number> {
 	 * @param data data to insert to the tree.
 	 */
 	public void insert(T data) {
-		this.root = insert(data, root);
+		insertIteratively(data);
 	}
 	
 	/**
@@ -41,7 +42,7 @@ public class AVLTree<T extends Number> {
 	 * @param data data to remove from the tree
 	 */
 	public void delete(T data) {
-		this.root = delete(data, root);
+		deleteIteratively(data);
 	}
 	
 	/**
@@ -51,7 +52,7 @@ public class AVLTree<T extends Number> {
 	 * @return boolean showing whether the element is in tree or not
 	 */
 	public boolean search(T data){
-		return search(data, root);
+		return searchIteratively(data);
 	}
 
 	/**
@@ -60,7 +61,7 @@ public class AVLTree<T extends Number> {
 	 * @return string of elements
 	 */
 	public String postOrder() {
-		return postOrder(root);
+		return postOrder(balancer.root);
 	}
 	
 	/**
@@ -69,7 +70,7 @@ public class AVLTree<T extends Number> {
 	 * @return string of elements
 	 */
 	public String preOrder() {
-		return preOrder(root);
+		return preOrder(balancer.root);
 	}
 	
 	/**
@@ -78,7 +79,7 @@ public class AVLTree<T extends Number> {
 	 * @return string of elements
 	 */
 	public String inOrder() {
-		return inOrder(root);
+		return inOrder(balancer.root);
 	}
 	
 	//Recursion methods
@@ -109,186 +110,73 @@ public class AVLTree<T extends Number> {
 		}
 	}
 	
-	private AVLTreeNode<T> insert(T data, AVLTreeNode<T> tree){
-		if(tree == null) {
-			return new AVLTreeNode<T>(data);
-		}
-		else if(data.doubleValue() > tree.data.doubleValue()) {
-			tree.right = insert(data, tree.right);
-		}
-		else if(data.doubleValue() < tree.data.doubleValue()) {
-			tree.left = insert(data, tree.left);
-		}
-		else if(data.doubleValue() == tree.data.doubleValue()) {
-			throw new IllegalArgumentException("The element is already in the tree");
-		}
+	//Iterative insertion and deletion: the key is compared once per level
+	//on the way down and the path is pushed to the balancer, which retraces
+	//heights on the way up only until they stop changing
+	private void insertIteratively(T data) {
+		double key = data.doubleValue();
+		AVLTreeNode<T> tree = balancer.root;
 		
-		//Update height of this node
-		tree.height = Math.max(getHeight(tree.left), getHeight(tree.right)) + 1;
-		
-		//Calculate balance factor for this node
-		int balanceFactor = calculateBalanceFactor(tree);
-		
-		//and test if there's imbalance, if so, do corresponding rotation
-		//this will return balanced version of the current subtree to its parent
-		//to be assigned to the corresponding link (left or right)
-		if(balanceFactor > 1) {
-			if(data.doubleValue() < tree.left.data.doubleValue()) {
-				return rightRotate(tree);
-			}
-			else {
-				tree.left = leftRotate(tree.left);
-				return rightRotate(tree);
-			}
-		}
-		else if(balanceFactor < -1) {
-			if(data.doubleValue() > tree.right.data.doubleValue()) {
-				return leftRotate(tree);
-			}
-			else {
-				tree.right = rightRotate(tree.right);
-				return leftRotate(tree);
+		while(tree != null) {
+			int comparison = compare(key, tree.data.doubleValue());
+			
+			if(comparison == 0) {
+				balancer.clearPath();
+				throw new IllegalArgumentException("The element is already in the tree");
 			}
+			
+			balancer.push(tree, comparison > 0);
+			tree = comparison > 0 ? tree.right : tree.left;
 		}
 		
-		//If balancing is not required, return current subtree to its parent
-		//so that it will be assigned to the corresponding link (left or right)
-		return tree;
+		balancer.insertLeaf(new AVLTreeNode<T>(data));
 	}
 	
-	private AVLTreeNode<T> delete(T data, AVLTreeNode<T> tree){
-		//Search recursively for the node to be deleted
-
-		if(tree == null) {
-			throw new NoSuchElementException("There is no such element in the tree");
-		}
-		else if(data.doubleValue() > tree.data.doubleValue()) {
-			tree.right = delete(data, tree.right);
-		}
-		else if(data.doubleValue() < tree.data.doubleValue()) {
-			tree.left = delete(data, tree.left);
-		}
-		else{
-			//Found the node!
-			
-			//If tree has at most 1 child
-			if(tree.left == null || tree.right == null){
-				if(tree.left != null){
-					//There is a child to the left
-					tree = tree.left;
-				}
-				else if(tree.right != null){
-					//There is a child to the right
-					tree = tree.right;
-				}
-				else{
-					//There are no children
-					tree = null;
-				}
-			}
-			else{
-				//If tree has 2 children
-				T successor = findMin(tree.right).data;
-				tree.data = successor;
-				tree.right = delete(successor, tree.right);
-			}
-		}
-
-		//If there was no children of the node to be deleted, node
-		//was set to null, so that it can return itself to parent
-		//node and assign parent node's corresponding link to null. 
-		//It won't be necessary updating height and calculating 
-		//balance factor for it, so return beforehand if that's the case.
-		if(tree == null)
-			return tree;
-
-		//Update height and calculate balance factor of the current node,
-		//and balance the current subtree if necessary. Return the balanced
-		//subtree to its parent so that the parent can assign it to its
-		//corresponding link.
-		tree.height = Math.max(getHeight(tree.left), getHeight(tree.right)) + 1; 
-		int balanceFactor = calculateBalanceFactor(tree);
-
-		if(balanceFactor > 1) {
-			if(calculateBalanceFactor(tree.left) >= 0) {
-				return rightRotate(tree);
-			}
-			else {
-				tree.left = leftRotate(tree.left);
-				return rightRotate(tree);
-			}
-		}
-		else if(balanceFactor < -1) {
-			if(calculateBalanceFactor(tree.right) <= 0) {
-				return leftRotate(tree);
-			}
-			else {
-				tree.right = rightRotate(tree.right);
-				return leftRotate(tree);
+	private void deleteIteratively(T data) {
+		double key = data.doubleValue();
+		AVLTreeNode<T> tree = balancer.root;
+		
+		//Search for the node to be deleted
+		while(true) {
+			if(tree == null) {
+				balancer.clearPath();
+				throw new NoSuchElementException("There is no such element in the tree");
 			}
+			
+			int comparison = compare(key, tree.data.doubleValue());
+			
+			if(comparison == 0)
+				break;
+			
+			balancer.push(tree, comparison > 0);
+			tree = comparison > 0 ? tree.right : tree.left;
 		}
 		
-		//If balancing is not required, return current subtree to its parent
-		//so that it will be assigned to the corresponding link (left or right)
-		return tree;
+		balancer.remove(tree);
 	}
 	
-	private boolean search(T data, AVLTreeNode<T> tree) {
-		if(tree == null) {
-			return false;
-		}
-		else if(data.doubleValue() > tree.data.doubleValue()) {
-			return search(data, tree.right);
-		}
-		else if(data.doubleValue() < tree.data.doubleValue()) {
-			return search(data, tree.left);
-		}
-		else {
-			return true;
-		}
-	}
-
-	private int getHeight(AVLTreeNode<T> tree) {
-		if(tree == null)
-			return -1;
-		else
-			return tree.height;
-	}
-
-	private int calculateBalanceFactor(AVLTreeNode<T> node) {
-		return getHeight(node.left) - getHeight(node.right);
-	}
-	
-	private AVLTreeNode<T> rightRotate(AVLTreeNode<T> node) {
-		AVLTreeNode<T> leftSubtree = node.left;
-		node.left = leftSubtree.right;
-		leftSubtree.right = node;
+	private boolean searchIteratively(T data) {
+		double key = data.doubleValue();
+		AVLTreeNode<T> tree = balancer.root;
 		
-		//Update height of modified nodes
-		node.height = Math.max(getHeight(node.left), getHeight(node.right)) + 1;
-		leftSubtree.height = Math.max(getHeight(leftSubtree.left), getHeight(leftSubtree.right)) + 1;
+		while(tree != null) {
+			int comparison = compare(key, tree.data.doubleValue());
+			
+			if(comparison == 0)
+				return true;
+			
+			tree = comparison > 0 ? tree.right : tree.left;
+		}
 		
-		return leftSubtree;
+		return false;
 	}
 	
-	private AVLTreeNode<T> leftRotate(AVLTreeNode<T> node) {
-		AVLTreeNode<T> rightSubtree = node.right;
-		node.right = rightSubtree.left;
-		rightSubtree.left = node;
-		
-		//Update height of modified nodes
-		node.height = Math.max(getHeight(node.left), getHeight(node.right)) + 1;
-		rightSubtree.height = Math.max(getHeight(rightSubtree.left), getHeight(rightSubtree.right)) + 1;
-		
-		return rightSubtree;
-	}
-
-	private AVLTreeNode<T> findMin(AVLTreeNode<T> tree){ 
-		AVLTreeNode<T> temp = tree;
-		
-		while(temp.left != null)
-			temp = temp.left;
-		
-		return temp;
+	private static int compare(double key, double otherKey) {
+		if(key < otherKey)
+			return -1;
+		else if(key > otherKey)
+			return 1;
+		else
+			return 0;
 	}
 }
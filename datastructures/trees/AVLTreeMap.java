@@ -0,0 +1,369 @@
+package datastructures.trees;
+
+import java.util.AbstractMap;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import datastructures.AVLTreeNode;
+
+/**
+ * Ordered map implementation on an AVL tree, with keys of any type
+ * ordered by a {@code Comparator<K>}.
+ * <p>Unlike {@code AVLTree<T>}, keys are compared exactly by the given
+ * comparator instead of through {@code doubleValue()}, so strings,
+ * composite keys and {@code long}s above 2^53 are ordered correctly, and
+ * every key is paired with a value. Balancing is shared with
+ * {@code AVLTree<T>}: insertions and deletions walk down once, comparing
+ * the key once per level, and the same balancer retraces heights along
+ * the path only until they stop changing.</p>
+ * <p>Besides {@code get/put/remove}, the map answers navigation queries
+ * ({@code floorKey/ceilingKey/higherKey/lowerKey}, {@code firstKey/lastKey}
+ * and {@code pollFirst}) in O(logn). If the corresponding constructor
+ * argument is left empty, keys are ordered by their natural ordering.</p>
+ * @author Baris Unlusarac
+ *
+ * @param <K> type of keys
+ * @param <V> type of values
+ */
+public class AVLTreeMap<K, V> {
+	private final Comparator<? super K> comparator;
+	private final AVLBalancer<K> balancer;
+	private int size;
+
+	/**
+	 * Initialize an empty map ordered by the natural ordering of keys.
+	 * <p>Keys must implement {@code Comparable<K>}, otherwise
+	 * {@code ClassCastException} is thrown when they are compared.</p>
+	 */
+	@SuppressWarnings("unchecked")
+	public AVLTreeMap() {
+		this((Comparator<? super K>) Comparator.naturalOrder());
+	}
+
+	/**
+	 * Initialize an empty map ordered by given comparator.
+	 * @param comparator comparator to order keys with
+	 */
+	public AVLTreeMap(Comparator<? super K> comparator) {
+		this.comparator = comparator;
+		this.balancer = new AVLBalancer<K>();
+		this.size = 0;
+	}
+
+	/**
+	 * Returns size of the map. (number of keys in the map)
+	 * @return size of the map/number of keys
+	 */
+	public int size() { return size; }
+
+	/**
+	 * Returns a boolean value indicating emptiness of the map.
+	 * @return true if map is empty, false otherwise
+	 */
+	public boolean isEmpty() { return size == 0; }
+
+	/**
+	 * Return the value of given key.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * @param key key to look for
+	 * @return value of the key, or {@code null} if the key
+	 * is not in the map
+	 */
+	public V get(K key) {
+		MapNode<K, V> node = find(key);
+		return node == null ? null : node.value;
+	}
+
+	/**
+	 * Returns a boolean value indicating whether given key is in the map.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * @param key key to look for
+	 * @return true if the key is in the map, false otherwise
+	 */
+	public boolean containsKey(K key) {
+		return find(key) != null;
+	}
+
+	/**
+	 * Associate given value with given key, replacing the previous
+	 * value if the key is already in the map.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * @param key key of the value
+	 * @param value value to be stored
+	 * @return previous value of the key, or {@code null} if the key
+	 * was not in the map
+	 */
+	public V put(K key, V value) {
+		if(balancer.root == null) {
+			//Compare the key with itself to reject keys the comparator
+			//can't handle before they become the root
+			comparator.compare(key, key);
+		}
+
+		AVLTreeNode<K> node = balancer.root;
+
+		while(node != null) {
+			int comparison = comparator.compare(key, node.data);
+
+			if(comparison == 0) {
+				balancer.clearPath();
+
+				MapNode<K, V> found = asMapNode(node);
+				V previous = found.value;
+				found.value = value;
+				return previous;
+			}
+
+			balancer.push(node, comparison > 0);
+			node = comparison > 0 ? node.right : node.left;
+		}
+
+		balancer.insertLeaf(new MapNode<K, V>(key, value));
+		++size;
+		return null;
+	}
+
+	/**
+	 * Remove given key and its value from the map.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * @param key key to be removed
+	 * @return value of the removed key, or {@code null} if the key
+	 * was not in the map
+	 */
+	public V remove(K key) {
+		AVLTreeNode<K> node = balancer.root;
+
+		//Search for the node to be removed
+		while(true) {
+			if(node == null) {
+				balancer.clearPath();
+				return null;
+			}
+
+			int comparison = comparator.compare(key, node.data);
+
+			if(comparison == 0)
+				break;
+
+			balancer.push(node, comparison > 0);
+			node = comparison > 0 ? node.right : node.left;
+		}
+
+		balancer.remove(node);
+		--size;
+		return asMapNode(node).value;
+	}
+
+	/**
+	 * Return the smallest key.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * <p>Throws {@code NoSuchElementException} if the map is empty.</p>
+	 * @return the smallest key
+	 */
+	public K firstKey() {
+		if(balancer.root == null)
+			throw new NoSuchElementException("Map is empty");
+
+		AVLTreeNode<K> node = balancer.root;
+
+		while(node.left != null)
+			node = node.left;
+
+		return node.data;
+	}
+
+	/**
+	 * Return the greatest key.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * <p>Throws {@code NoSuchElementException} if the map is empty.</p>
+	 * @return the greatest key
+	 */
+	public K lastKey() {
+		if(balancer.root == null)
+			throw new NoSuchElementException("Map is empty");
+
+		AVLTreeNode<K> node = balancer.root;
+
+		while(node.right != null)
+			node = node.right;
+
+		return node.data;
+	}
+
+	/**
+	 * Remove the smallest key and return it with its value.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * @return the smallest key and its value, or {@code null}
+	 * if the map is empty
+	 */
+	public Map.Entry<K, V> pollFirst() {
+		if(balancer.root == null)
+			return null;
+
+		//Walk down the left spine without comparisons
+		AVLTreeNode<K> node = balancer.root;
+
+		while(node.left != null) {
+			balancer.push(node, false);
+			node = node.left;
+		}
+
+		balancer.remove(node);
+		--size;
+		return new AbstractMap.SimpleImmutableEntry<K, V>(node.data, asMapNode(node).value);
+	}
+
+	/**
+	 * Return the greatest key smaller than or equal to given key.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * @param key key to compare with
+	 * @return the greatest key smaller than or equal to given key,
+	 * or {@code null} if there's no such key
+	 */
+	public K floorKey(K key) {
+		return below(key, true);
+	}
+
+	/**
+	 * Return the greatest key strictly smaller than given key.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * @param key key to compare with
+	 * @return the greatest key smaller than given key, or
+	 * {@code null} if there's no such key
+	 */
+	public K lowerKey(K key) {
+		return below(key, false);
+	}
+
+	/**
+	 * Return the smallest key greater than or equal to given key.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * @param key key to compare with
+	 * @return the smallest key greater than or equal to given key,
+	 * or {@code null} if there's no such key
+	 */
+	public K ceilingKey(K key) {
+		return above(key, true);
+	}
+
+	/**
+	 * Return the smallest key strictly greater than given key.
+	 * <p>Time complexity of this operation is O(logn).</p>
+	 * @param key key to compare with
+	 * @return the smallest key greater than given key, or
+	 * {@code null} if there's no such key
+	 */
+	public K higherKey(K key) {
+		return above(key, false);
+	}
+
+	/**
+	 * Delete all keys and clear the map.
+	 */
+	public void clear() {
+		balancer.root = null;
+		size = 0;
+	}
+
+	/**
+	 * Returns a string that contains the keys and values of the map
+	 * in ascending order of keys, as {@code key=value} pairs spaced
+	 * with an empty whitespace character.
+	 * @return string of keys and values
+	 */
+	@Override
+	public String toString() {
+		StringBuilder mapString = new StringBuilder();
+		inOrder(balancer.root, mapString);
+		return mapString.toString();
+	}
+
+	//Recursion is O(logn) deep since the tree is balanced
+	private void inOrder(AVLTreeNode<K> node, StringBuilder mapString) {
+		if(node == null)
+			return;
+
+		inOrder(node.left, mapString);
+		mapString.append(node.data);
+		mapString.append('=');
+		mapString.append(asMapNode(node).value);
+		mapString.append(' ');
+		inOrder(node.right, mapString);
+	}
+
+	private MapNode<K, V> find(K key) {
+		AVLTreeNode<K> node = balancer.root;
+
+		while(node != null) {
+			int comparison = comparator.compare(key, node.data);
+
+			if(comparison == 0)
+				return asMapNode(node);
+
+			node = comparison > 0 ? node.right : node.left;
+		}
+
+		return null;
+	}
+
+	private K below(K key, boolean isInclusive) {
+		AVLTreeNode<K> node = balancer.root;
+		AVLTreeNode<K> candidate = null;
+
+		while(node != null) {
+			int comparison = comparator.compare(key, node.data);
+
+			if(comparison == 0 && isInclusive)
+				return node.data;
+
+			if(comparison > 0) {
+				candidate = node;
+				node = node.right;
+			}
+			else {
+				node = node.left;
+			}
+		}
+
+		return candidate == null ? null : candidate.data;
+	}
+
+	private K above(K key, boolean isInclusive) {
+		AVLTreeNode<K> node = balancer.root;
+		AVLTreeNode<K> candidate = null;
+
+		while(node != null) {
+			int comparison = comparator.compare(key, node.data);
+
+			if(comparison == 0 && isInclusive)
+				return node.data;
+
+			if(comparison < 0) {
+				candidate = node;
+				node = node.left;
+			}
+			else {
+				node = node.right;
+			}
+		}
+
+		return candidate == null ? null : candidate.data;
+	}
+
+	//Every node of the tree is a map node, the balancer only
+	//sees them as AVLTreeNode<K> holding keys as data
+	@SuppressWarnings("unchecked")
+	private MapNode<K, V> asMapNode(AVLTreeNode<K> node) {
+		return (MapNode<K, V>) node;
+	}
+
+	private static final class MapNode<K, V> extends AVLTreeNode<K> {
+		private V value;
+
+		MapNode(K key, V value) {
+			super(key);
+			this.value = value;
+		}
+	}
+}